@@ -0,0 +1,96 @@
+package com.tntgroup.testdatn.config;
+
+import java.time.Clock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.tntgroup.testdatn.entity.UserIdGenerator;
+import com.tntgroup.testdatn.utils.KeyGeneratorUtils;
+import com.tntgroup.testdatn.utils.KeyGeneratorUtils.PooledKey;
+import com.tntgroup.testdatn.utils.PregeneratedKeyPool;
+import com.tntgroup.testdatn.utils.SecureRandomPool;
+import com.tntgroup.testdatn.utils.TimeOrderedIdGenerator;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Builds the SecureRandom pool behind {@link KeyGeneratorUtils} from the
+ * keygen.random.* properties and installs it at startup. With
+ * keygen.pool.enabled, session tokens and UUID keys are also served from
+ * background-refilled pools of pre-generated keys. The time-ordered ID
+ * generator gets its node ID from ids.node-id and, with
+ * users.id-strategy=time-ordered, also assigns user primary keys. The key
+ * generation meters are bound to Boot's registry through a MeterBinder.
+ */
+@Configuration
+public class KeyGeneratorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyGeneratorConfig.class);
+
+    @Bean
+    public SecureRandomPool keyGeneratorRandomPool(
+            @Value("${keygen.random.algorithm:" + SecureRandomPool.DEFAULT_ALGORITHM + "}") String algorithm,
+            @Value("${keygen.random.pool-size:0}") int poolSize,
+            @Value("${keygen.random.reseed-interval-ms:3600000}") long reseedIntervalMs) {
+        SecureRandomPool pool = new SecureRandomPool(algorithm, poolSize, reseedIntervalMs);
+        KeyGeneratorUtils.useRandomPool(pool);
+        log.info("Key generation uses {} {} generators", pool.size(), pool.getAlgorithm());
+        return pool;
+    }
+
+    @Bean
+    public TimeOrderedIdGenerator timeOrderedIdGenerator(SecureRandomPool keyGeneratorRandomPool,
+            @Value("${ids.node-id:0}") int nodeId,
+            @Value("${users.id-strategy:identity}") String userIdStrategy) {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(nodeId, keyGeneratorRandomPool::nextLong,
+                Clock.systemUTC());
+        KeyGeneratorUtils.useTimeOrderedIds(generator);
+        switch (userIdStrategy) {
+            case "identity" -> UserIdGenerator.useTimeOrderedIds(null);
+            case "time-ordered" -> UserIdGenerator.useTimeOrderedIds(generator);
+            default -> throw new IllegalArgumentException(
+                    "users.id-strategy must be identity or time-ordered, not " + userIdStrategy);
+        }
+        log.info("User ids: {} (node {})", userIdStrategy, nodeId);
+        return generator;
+    }
+
+    @Bean
+    public MeterBinder keyGeneratorMetrics() {
+        return KeyGeneratorUtils.meterBinder();
+    }
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "keygen.pool.enabled", havingValue = "true")
+    public PregeneratedKeyPool sessionTokenKeyPool(SecureRandomPool keyGeneratorRandomPool,
+            @Value("${keygen.pool.capacity:4096}") int capacity,
+            @Value("${keygen.pool.refill-threshold:1024}") int refillThreshold) {
+        return install(PooledKey.SESSION_TOKEN, capacity, refillThreshold);
+    }
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "keygen.pool.enabled", havingValue = "true")
+    public PregeneratedKeyPool uuidKeyPool(SecureRandomPool keyGeneratorRandomPool,
+            @Value("${keygen.pool.capacity:4096}") int capacity,
+            @Value("${keygen.pool.refill-threshold:1024}") int refillThreshold) {
+        return install(PooledKey.UUID, capacity, refillThreshold);
+    }
+
+    /**
+     * Start a pool and route the key type through it. Taking the random pool
+     * as a parameter makes sure keys are drawn from the configured generators.
+     * A stopped pool still serves what it holds, then generates inline.
+     */
+    private static PregeneratedKeyPool install(PooledKey key, int capacity, int refillThreshold) {
+        PregeneratedKeyPool pool = KeyGeneratorUtils.newPregeneratedPool(key, capacity, refillThreshold);
+        pool.start();
+        KeyGeneratorUtils.usePregeneratedPool(key, pool);
+        log.info("Serving {} keys from a pool of {}", key, pool.capacity());
+        return pool;
+    }
+}
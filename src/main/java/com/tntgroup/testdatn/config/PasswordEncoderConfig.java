@@ -0,0 +1,62 @@
+package com.tntgroup.testdatn.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.tntgroup.testdatn.security.CalibratedBCryptPasswordEncoder;
+
+/**
+ * Password encoder shared by the servlet and reactive stacks.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    private static final String BCRYPT_ID = "bcrypt";
+    private static final int DEFAULT_STRENGTH = 10;
+
+    /**
+     * BCrypt at the default cost, or with password.bcrypt.target-latency-ms set,
+     * at the cost calibrated for this machine. Both modes write {bcrypt}-prefixed
+     * hashes and read prefixed and unprefixed ones, so the mode can be switched
+     * either way. Hashes stored at a lower cost are upgraded on the next login;
+     * stronger ones are kept.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${password.bcrypt.target-latency-ms:0}") long targetLatencyMs,
+            @Value("${password.bcrypt.min-strength:10}") int minStrength) {
+        if (targetLatencyMs <= 0) {
+            return delegating(new CalibratedBCryptPasswordEncoder(DEFAULT_STRENGTH));
+        }
+
+        CalibratedBCryptPasswordEncoder bcrypt = CalibratedBCryptPasswordEncoder
+                .forTargetLatency(Duration.ofMillis(targetLatencyMs), minStrength);
+        log.info("BCrypt cost {} calibrated for a {} ms target", bcrypt.getStrength(), targetLatencyMs);
+        return delegating(bcrypt);
+    }
+
+    private static PasswordEncoder delegating(CalibratedBCryptPasswordEncoder bcrypt) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt)) {
+            @Override
+            public boolean upgradeEncoding(String prefixEncodedPassword) {
+                // The default would upgrade every unprefixed hash, even a stronger one
+                if (prefixEncodedPassword != null && !prefixEncodedPassword.startsWith("{")) {
+                    return bcrypt.upgradeEncoding(prefixEncodedPassword);
+                }
+                return super.upgradeEncoding(prefixEncodedPassword);
+            }
+        };
+        // Hashes stored before the {bcrypt} prefix existed
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+}
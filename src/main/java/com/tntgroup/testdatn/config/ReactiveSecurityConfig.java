@@ -0,0 +1,48 @@
+package com.tntgroup.testdatn.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import com.tntgroup.testdatn.entity.Role;
+import com.tntgroup.testdatn.security.ReactiveJwtAuthenticationFilter;
+import com.tntgroup.testdatn.security.TokenRevocationStore;
+import com.tntgroup.testdatn.security.VerifiedTokenCache;
+import com.tntgroup.testdatn.service.JwtService;
+
+/**
+ * Security configuration for the reactive stack - the same stateless JWT
+ * bearer rules as {@link SecurityConfig}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtService jwtService,
+            VerifiedTokenCache tokenCache, TokenRevocationStore revocationStore) {
+        http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterAt(new ReactiveJwtAuthenticationFilter(jwtService, tokenCache, revocationStore),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/api/auth/**").permitAll()
+                        .pathMatchers("/.well-known/jwks.json", "/actuator/health").permitAll()
+                        .pathMatchers("/api/users/**", "/actuator/**").hasRole(Role.ADMIN.name())
+                        .anyExchange().authenticated());
+
+        return http.build();
+    }
+}
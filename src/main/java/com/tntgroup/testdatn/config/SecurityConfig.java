@@ -1,38 +1,55 @@
 package com.tntgroup.testdatn.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.tntgroup.testdatn.entity.Role;
+import com.tntgroup.testdatn.security.ApiKeyAuthenticationFilter;
+import com.tntgroup.testdatn.security.JwtAuthenticationFilter;
+import com.tntgroup.testdatn.security.TokenRevocationStore;
+import com.tntgroup.testdatn.security.VerifiedTokenCache;
+import com.tntgroup.testdatn.service.ApiKeyService;
+import com.tntgroup.testdatn.service.JwtService;
 
 /**
- * Security configuration - permits all for demo purposes.
+ * Security configuration - stateless JWT bearer and API key authentication.
+ * User listing, export and import are for admins only; API keys never carry
+ * a role.
+ * Servlet stack only; see {@link ReactiveSecurityConfig} for the reactive one.
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtService jwtService,
+            VerifiedTokenCache tokenCache, TokenRevocationStore revocationStore, ApiKeyService apiKeyService)
+            throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService, tokenCache, revocationStore),
+                        UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new ApiKeyAuthenticationFilter(apiKeyService),
+                        UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(auth -> auth
-                        // Permit all for demo
                         .requestMatchers("/api/auth/**").permitAll()
-                        .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
-                        .anyRequest().permitAll());
+                        .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/api-docs/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/.well-known/jwks.json", "/actuator/health").permitAll()
+                        .requestMatchers("/api/users/**", "/actuator/**").hasRole(Role.ADMIN.name())
+                        .anyRequest().authenticated());
 
         return http.build();
     }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
@@ -0,0 +1,34 @@
+package com.tntgroup.testdatn.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Reports the request execution mode at startup.
+ * Virtual threads are opt-in through the {@code virtual-threads} profile and
+ * need a Java 21+ runtime; on an older JVM Spring Boot silently keeps
+ * platform threads, so say so loudly.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportExecutionMode(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        String poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Requests run on virtual threads; concurrency is bounded by the {} pooled connections "
+                    + "and the password hashing queue", poolSize);
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "running on platform threads", Runtime.version().feature());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.tntgroup.testdatn.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tntgroup.testdatn.dto.ApiKeyResponse;
+import com.tntgroup.testdatn.dto.CreateApiKeyRequest;
+import com.tntgroup.testdatn.service.ApiKeyService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * API key management REST Controller.
+ * Only users signed in with a JWT may manage keys; a request authenticated
+ * by an API key cannot mint or revoke others.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/api-keys")
+@RequiredArgsConstructor
+@Tag(name = "API keys", description = "Issue, list and revoke API keys")
+public class ApiKeyController {
+
+    private final ApiKeyService apiKeyService;
+
+    @PostMapping
+    @Operation(summary = "Create API key", description = "The plaintext key is only returned in this response")
+    public ResponseEntity<?> create(@RequestBody(required = false) CreateApiKeyRequest request,
+            Authentication authentication) {
+        if (isApiKey(authentication)) {
+            return forbidden();
+        }
+        String prefix = request != null ? request.getPrefix() : new CreateApiKeyRequest().getPrefix();
+        try {
+            ApiKeyResponse response = apiKeyService.create(authentication.getName(), prefix);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    @Operation(summary = "List API keys", description = "The caller's keys, newest first, revoked ones included")
+    public ResponseEntity<List<ApiKeyResponse>> list(Authentication authentication) {
+        return ResponseEntity.ok(apiKeyService.list(authentication.getName()));
+    }
+
+    @DeleteMapping("/{lookupId}")
+    @Operation(summary = "Revoke API key", description = "Takes effect immediately on this node")
+    public ResponseEntity<Map<String, String>> revoke(@PathVariable String lookupId, Authentication authentication) {
+        if (isApiKey(authentication)) {
+            return forbidden();
+        }
+        if (!apiKeyService.revoke(authentication.getName(), lookupId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "No active API key " + lookupId));
+        }
+        return ResponseEntity.ok(Map.of("message", "API key revoked"));
+    }
+
+    private static boolean isApiKey(Authentication authentication) {
+        return authentication.getDetails() instanceof ApiKeyService.Identity;
+    }
+
+    private static <T> ResponseEntity<T> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+}
@@ -2,15 +2,20 @@ package com.tntgroup.testdatn.controller;
 
 import java.util.Map;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tntgroup.testdatn.dto.AuthResponse;
 import com.tntgroup.testdatn.dto.LoginRequest;
 import com.tntgroup.testdatn.dto.RegisterRequest;
+import com.tntgroup.testdatn.exception.ServerBusyException;
 import com.tntgroup.testdatn.service.AuthService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,11 +26,14 @@ import lombok.RequiredArgsConstructor;
  * Authentication REST Controller.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 @Tag(name = "Authentication", description = "Login, Register, and Logout APIs")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AuthService authService;
 
     @PostMapping("/register")
@@ -34,6 +42,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.register(request);
             return ResponseEntity.ok(response);
+        } catch (ServerBusyException e) {
+            return serverBusy(e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(AuthResponse.builder().message(e.getMessage()).build());
@@ -46,6 +56,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (ServerBusyException e) {
+            return serverBusy(e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(AuthResponse.builder().message(e.getMessage()).build());
@@ -53,9 +65,23 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    @Operation(summary = "Logout", description = "Logout (client should discard the token)")
-    public ResponseEntity<Map<String, String>> logout() {
-        // JWT tokens are stateless - logout is handled client-side
-        return ResponseEntity.ok(Map.of("message", "Logged out successfully. Please discard your token."));
+    @Operation(summary = "Logout", description = "Revoke the bearer token sent in the Authorization header")
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Missing bearer token"));
+        }
+        try {
+            authService.logout(authorization.substring(BEARER_PREFIX.length()).trim());
+            return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<AuthResponse> serverBusy(ServerBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(AuthResponse.builder().message(e.getMessage()).build());
     }
 }
@@ -0,0 +1,87 @@
+package com.tntgroup.testdatn.controller;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tntgroup.testdatn.dto.ValidationSummary;
+import com.tntgroup.testdatn.service.BulkValidationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Bulk validation REST Controller.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/validation")
+@RequiredArgsConstructor
+@Tag(name = "Validation", description = "Bulk contact validation APIs")
+public class BulkValidationController {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkValidationController.class);
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final BulkValidationService bulkValidationService;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Validate contact records from CSV or NDJSON without storing them.
+     * The response is NDJSON: one result line per record, in input order,
+     * and a final summary.
+     */
+    @PostMapping(value = "/bulk", consumes = { TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE },
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Validate records", description = "Stream email, phone number, card number and age checks for CSV (with header) or NDJSON records; reports records/sec")
+    public void validate(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        BulkValidationService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? BulkValidationService.Format.CSV
+                : BulkValidationService.Format.NDJSON;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer out = response.getWriter();
+        try {
+            ValidationSummary summary = bulkValidationService.validate(
+                    new InputStreamReader(request.getInputStream(), charset), format, out);
+            line(out, Map.of("summary", summary));
+        } catch (IllegalArgumentException e) {
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+            }
+            line(out, Map.of("error", e.getMessage()));
+        } catch (RuntimeException | IOException e) {
+            log.warn("Bulk validation aborted", e);
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+            line(out, Map.of("error", "Validation aborted"));
+        }
+        out.flush();
+    }
+
+    private void line(Writer out, Map<String, ?> value) throws IOException {
+        out.write(jsonMapper.writeValueAsString(value));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,33 @@
+package com.tntgroup.testdatn.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tntgroup.testdatn.security.JwtKeyRing;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes the public keys used to sign JWTs so other services can verify
+ * tokens locally.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JWKS", description = "Public token verification keys")
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "JSON Web Key Set", description = "Public keys currently accepted for token verification")
+    public ResponseEntity<String> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(JwtKeyRing.JWKS_MAX_AGE).cachePublic())
+                .body(keyRing.jwksJson());
+    }
+}
@@ -0,0 +1,69 @@
+package com.tntgroup.testdatn.controller;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tntgroup.testdatn.service.KeyBatchService;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Streaming batch key generation REST Controller.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/keys")
+@RequiredArgsConstructor
+public class KeyBatchController {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyBatchController.class);
+
+    private final KeyBatchService keyBatchService;
+
+    /**
+     * Generate up to millions of keys, streamed with chunked transfer encoding.
+     *
+     * @param type   Key type (alphanumeric, hex, base64, url-safe, uuid, uuid-v7, ulid)
+     * @param length Length/bytes for the key
+     * @param count  Number of keys to generate
+     * @param format text (one key per line) or ndjson
+     */
+    @GetMapping(value = "/batch/stream", produces = { MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public void streamBatchKeys(@RequestParam(defaultValue = "alphanumeric") String type,
+            @RequestParam(defaultValue = "32") int length,
+            @RequestParam(defaultValue = "1000") long count,
+            @RequestParam(defaultValue = "text") String format,
+            HttpServletResponse response) throws IOException {
+        KeyBatchService.KeyType keyType = KeyBatchService.KeyType.of(type);
+        KeyBatchService.Format lineFormat = "ndjson".equalsIgnoreCase(format)
+                ? KeyBatchService.Format.NDJSON
+                : KeyBatchService.Format.TEXT;
+        keyBatchService.validate(keyType, length, count);
+
+        response.setContentType(lineFormat == KeyBatchService.Format.NDJSON
+                ? MediaType.APPLICATION_NDJSON_VALUE
+                : MediaType.TEXT_PLAIN_VALUE);
+        long started = System.nanoTime();
+        long written = keyBatchService.stream(keyType, length, count, lineFormat, response.getOutputStream());
+        log.info("Streamed {} {} keys in {} ms", written, keyType, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", e.getMessage()));
+    }
+}
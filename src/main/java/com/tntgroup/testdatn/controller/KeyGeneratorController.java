@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.tntgroup.testdatn.service.KeyBatchService;
 import com.tntgroup.testdatn.utils.KeyGeneratorUtils;
 
 /**
@@ -139,12 +140,34 @@ public class KeyGeneratorController {
         return ResponseEntity.ok(buildResponse("session-token", key, 32));
     }
 
+    /**
+     * Generate a time-ordered UUID (version 7).
+     *
+     * @return Generated UUID, canonical form with hyphens
+     */
+    @GetMapping("/uuid-v7")
+    public ResponseEntity<Map<String, Object>> generateUuidV7() {
+        String key = KeyGeneratorUtils.generateUuidV7();
+        return ResponseEntity.ok(buildResponse("uuid-v7", key, key.length()));
+    }
+
+    /**
+     * Generate a ULID (time-ordered, Crockford base32).
+     *
+     * @return Generated ULID
+     */
+    @GetMapping("/ulid")
+    public ResponseEntity<Map<String, Object>> generateUlid() {
+        String key = KeyGeneratorUtils.generateUlid();
+        return ResponseEntity.ok(buildResponse("ulid", key, key.length()));
+    }
+
     /**
      * Generate multiple keys at once.
      *
-     * @param type   Key type (alphanumeric, hex, base64, url-safe, uuid)
+     * @param type   Key type (alphanumeric, hex, base64, url-safe, uuid, uuid-v7, ulid)
      * @param length Length/bytes for the key
-     * @param count  Number of keys to generate (max 100)
+     * @param count  Number of keys to generate (max 100; use /batch/stream for more)
      * @return List of generated keys
      */
     @GetMapping("/batch")
@@ -159,14 +182,17 @@ public class KeyGeneratorController {
         }
 
         try {
+            KeyBatchService.KeyType keyType = KeyBatchService.KeyType.of(type);
             String[] keys = new String[count];
             for (int i = 0; i < count; i++) {
-                keys[i] = switch (type.toLowerCase()) {
-                    case "hex" -> KeyGeneratorUtils.generateHexKey(length);
-                    case "base64" -> KeyGeneratorUtils.generateBase64Key(length);
-                    case "url-safe" -> KeyGeneratorUtils.generateUrlSafeKey(length);
-                    case "uuid" -> KeyGeneratorUtils.generateUuidKey();
-                    default -> KeyGeneratorUtils.generateAlphanumericKey(length);
+                keys[i] = switch (keyType) {
+                    case ALPHANUMERIC -> KeyGeneratorUtils.generateAlphanumericKey(length);
+                    case HEX -> KeyGeneratorUtils.generateHexKey(length);
+                    case BASE64 -> KeyGeneratorUtils.generateBase64Key(length);
+                    case URL_SAFE -> KeyGeneratorUtils.generateUrlSafeKey(length);
+                    case UUID -> KeyGeneratorUtils.generateUuidKey();
+                    case UUID_V7 -> KeyGeneratorUtils.generateUuidV7();
+                    case ULID -> KeyGeneratorUtils.generateUlid();
                 };
             }
 
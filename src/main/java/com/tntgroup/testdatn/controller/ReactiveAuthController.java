@@ -0,0 +1,82 @@
+package com.tntgroup.testdatn.controller;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tntgroup.testdatn.dto.AuthResponse;
+import com.tntgroup.testdatn.dto.LoginRequest;
+import com.tntgroup.testdatn.dto.RegisterRequest;
+import com.tntgroup.testdatn.exception.ServerBusyException;
+import com.tntgroup.testdatn.service.ReactiveAuthService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Authentication REST Controller for the reactive stack.
+ * Same paths and responses as {@link AuthController}.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Login, Register, and Logout APIs")
+public class ReactiveAuthController {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ReactiveAuthService authService;
+
+    @PostMapping("/register")
+    @Operation(summary = "Register new user", description = "Create a new user account with username, email, and password")
+    public Mono<ResponseEntity<AuthResponse>> register(@RequestBody RegisterRequest request) {
+        return authService.register(request)
+                .map(ResponseEntity::ok)
+                .onErrorResume(ReactiveAuthController::errorResponse);
+    }
+
+    @PostMapping("/login")
+    @Operation(summary = "Login", description = "Login with username and password, returns JWT token")
+    public Mono<ResponseEntity<AuthResponse>> login(@RequestBody LoginRequest request) {
+        return authService.login(request)
+                .map(ResponseEntity::ok)
+                .onErrorResume(ReactiveAuthController::errorResponse);
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the bearer token sent in the Authorization header")
+    public Mono<ResponseEntity<Map<String, String>>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("message", "Missing bearer token")));
+        }
+        return authService.logout(authorization.substring(BEARER_PREFIX.length()).trim())
+                .then(Mono.fromCallable(() -> ResponseEntity.ok(Map.of("message", "Logged out successfully"))))
+                .onErrorResume(RuntimeException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("message", e.getMessage()))));
+    }
+
+    private static Mono<ResponseEntity<AuthResponse>> errorResponse(Throwable error) {
+        if (error instanceof ServerBusyException e) {
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(AuthResponse.builder().message(e.getMessage()).build()));
+        }
+        if (error instanceof RuntimeException) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(AuthResponse.builder().message(error.getMessage()).build()));
+        }
+        return Mono.error(error);
+    }
+}
@@ -0,0 +1,66 @@
+package com.tntgroup.testdatn.controller;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tntgroup.testdatn.entity.Role;
+import com.tntgroup.testdatn.service.UserExportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * User export REST Controller.
+ * Admin only (see SecurityConfig); emails are masked unless the caller holds
+ * {@link Role#EXPORT_UNMASKED} and asks for them unmasked.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@Tag(name = "Users", description = "User listing, import and export APIs")
+public class UserExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExportController.class);
+
+    private final UserExportService userExportService;
+
+    /**
+     * Export all users as NDJSON, streamed with chunked transfer encoding.
+     *
+     * @param maskEmail Mask email addresses (default: true); false needs {@link Role#EXPORT_UNMASKED}
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export users", description = "Stream every user as one JSON line, without passwords")
+    public void exportUsers(@RequestParam(defaultValue = "true") boolean maskEmail,
+            Authentication authentication, HttpServletResponse response) throws IOException {
+        if (!maskEmail && !canExportUnmasked(authentication)) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), 64 * 1024);
+        long started = System.nanoTime();
+        long count = userExportService.export(out, maskEmail);
+        log.info("Exported {} users in {} ms", count, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static boolean canExportUnmasked(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> Role.EXPORT_UNMASKED.equals(authority.getAuthority()));
+    }
+}
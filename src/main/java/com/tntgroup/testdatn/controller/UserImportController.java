@@ -0,0 +1,135 @@
+package com.tntgroup.testdatn.controller;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tntgroup.testdatn.dto.ImportSummary;
+import com.tntgroup.testdatn.service.UserImportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Bulk user import REST Controller.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@Tag(name = "Users", description = "User listing, import and export APIs")
+public class UserImportController {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportController.class);
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final UserImportService userImportService;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Import users from CSV or NDJSON.
+     * The response is NDJSON: one line per rejected row, a checkpoint line per
+     * batch and a final summary. After a failure, repeat the request with
+     * {@code skip} set to the last checkpoint.
+     *
+     * @param skip Number of input rows to skip (default: 0)
+     */
+    @PostMapping(value = "/import", consumes = { TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE },
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import users", description = "Stream users from CSV (with header) or NDJSON; reports per-row errors, checkpoints and rows/sec")
+    public void importUsers(@RequestParam(defaultValue = "0") long skip,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        UserImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ProgressWriter progress = new ProgressWriter(response.getWriter(), skip);
+        try {
+            ImportSummary summary = userImportService.importUsers(
+                    new InputStreamReader(request.getInputStream(), charset), format, skip, progress);
+            progress.line(Map.of("summary", summary));
+        } catch (IllegalArgumentException e) {
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+            }
+            progress.line(Map.of("error", e.getMessage(), "resumeFrom", progress.checkpoint));
+        } catch (RuntimeException | IOException e) {
+            log.warn("User import aborted after row {}", progress.checkpoint, e);
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+            progress.line(Map.of("error", "Import aborted", "resumeFrom", progress.checkpoint));
+        }
+        progress.flush();
+    }
+
+    /**
+     * Writes import progress as NDJSON lines.
+     */
+    private final class ProgressWriter implements UserImportService.Listener {
+
+        private final Writer out;
+        private long checkpoint;
+
+        private ProgressWriter(Writer out, long checkpoint) {
+            this.out = out;
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        public void rowFailed(long row, String username, String error) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("row", row);
+            line.put("username", username);
+            line.put("error", error);
+            line(line);
+        }
+
+        @Override
+        public void checkpoint(long rows) {
+            checkpoint = rows;
+            line(Map.of("checkpoint", rows));
+            flush();
+        }
+
+        void line(Map<String, ?> value) {
+            try {
+                out.write(jsonMapper.writeValueAsString(value));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new IllegalStateException("Client went away", e);
+            }
+        }
+
+        void flush() {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException("Client went away", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.tntgroup.testdatn.controller;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tntgroup.testdatn.service.UserListingService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * User listing REST Controller.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@Tag(name = "Users", description = "User listing, import and export APIs")
+public class UserListController {
+
+    private final UserListingService userListingService;
+
+    /**
+     * List users oldest first.
+     *
+     * @param cursor nextCursor from the previous page (omit for the first page)
+     * @param size   Page size (default: 20, max: 100)
+     * @return Users and the cursor of the next page
+     */
+    @GetMapping
+    @Operation(summary = "List users", description = "Keyset-paginated by creation time; follow nextCursor until it is null")
+    public ResponseEntity<?> listUsers(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(userListingService.list(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
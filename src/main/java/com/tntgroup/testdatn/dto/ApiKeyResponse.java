@@ -0,0 +1,28 @@
+package com.tntgroup.testdatn.dto;
+
+import java.time.LocalDateTime;
+
+import com.tntgroup.testdatn.entity.ApiKey;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ApiKeyResponse {
+    private String lookupId;
+    private String prefix;
+    /** Plaintext key; only set in the response to creating it. */
+    private String key;
+    private LocalDateTime createdAt;
+    private LocalDateTime revokedAt;
+
+    public static ApiKeyResponse of(ApiKey apiKey) {
+        return ApiKeyResponse.builder()
+                .lookupId(apiKey.getLookupId())
+                .prefix(apiKey.getPrefix())
+                .createdAt(apiKey.getCreatedAt())
+                .revokedAt(apiKey.getRevokedAt())
+                .build();
+    }
+}
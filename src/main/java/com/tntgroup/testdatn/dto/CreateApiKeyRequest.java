@@ -0,0 +1,8 @@
+package com.tntgroup.testdatn.dto;
+
+import lombok.Data;
+
+@Data
+public class CreateApiKeyRequest {
+    private String prefix = "api";
+}
@@ -0,0 +1,15 @@
+package com.tntgroup.testdatn.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ImportSummary {
+    private long rows;
+    private long imported;
+    private long failed;
+    private long skipped;
+    private long elapsedMs;
+    private long rowsPerSecond;
+}
@@ -0,0 +1,12 @@
+package com.tntgroup.testdatn.dto;
+
+import lombok.Data;
+
+@Data
+public class UserImportRow {
+    private String username;
+    private String email;
+    private String password;
+    private String phoneNumber;
+    private Integer age;
+}
@@ -0,0 +1,14 @@
+package com.tntgroup.testdatn.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UserPage {
+    private List<UserResponse> users;
+    /** Pass back as cursor for the next page; null on the last page. */
+    private String nextCursor;
+}
@@ -0,0 +1,35 @@
+package com.tntgroup.testdatn.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.tntgroup.testdatn.entity.User;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UserResponse {
+    // A string: time-ordered ids exceed 2^53, which JavaScript numbers cannot hold exactly
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Long id;
+    private String username;
+    private String email;
+    private String phoneNumber;
+    private Integer age;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static UserResponse of(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .phoneNumber(user.getPhoneNumber())
+                .age(user.getAge())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+}
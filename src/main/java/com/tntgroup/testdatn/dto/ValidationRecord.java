@@ -0,0 +1,13 @@
+package com.tntgroup.testdatn.dto;
+
+import lombok.Data;
+
+@Data
+public class ValidationRecord {
+    private String id;
+    private String email;
+    private String phoneNumber;
+    private String cardNumber;
+    // Text, so a non-numeric age is reported on the field instead of failing the record
+    private String age;
+}
@@ -0,0 +1,14 @@
+package com.tntgroup.testdatn.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ValidationSummary {
+    private long records;
+    private long valid;
+    private long invalid;
+    private long elapsedMs;
+    private long recordsPerSecond;
+}
@@ -0,0 +1,63 @@
+package com.tntgroup.testdatn.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * API key issued to a user.
+ * Only the SHA-256 of the secret part is stored; the lookup ID is the
+ * leading, non-secret part of the key and indexes it.
+ */
+@Entity
+@Table(name = "api_keys", uniqueConstraints = {
+        @UniqueConstraint(name = ApiKey.LOOKUP_ID_CONSTRAINT, columnNames = "lookup_id")
+}, indexes = {
+        @Index(name = "idx_api_keys_username", columnList = "username"),
+        @Index(name = "idx_api_keys_revoked_at", columnList = "revoked_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKey {
+
+    public static final String LOOKUP_ID_CONSTRAINT = "uk_api_keys_lookup_id";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String lookupId;
+
+    /** Hex SHA-256 of the secret part of the key. */
+    @Column(nullable = false, length = 64)
+    private String secretHash;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private String prefix;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime revokedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
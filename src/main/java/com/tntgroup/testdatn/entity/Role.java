@@ -0,0 +1,44 @@
+package com.tntgroup.testdatn.entity;
+
+import java.util.List;
+
+/**
+ * What a user may do. Stored by name on the user row and carried in the
+ * JWT {@code role} claim; a missing role means {@link #USER}.
+ */
+public enum Role {
+    USER,
+    /** May list, export and import every user; exports mask email addresses. */
+    ADMIN,
+    /** An admin who may also export email addresses unmasked. */
+    EXPORTER;
+
+    /**
+     * Authority that allows {@code /api/users/export?maskEmail=false}.
+     */
+    public static final String EXPORT_UNMASKED = "USERS_EXPORT_UNMASKED";
+
+    /**
+     * Spring Security authorities granted by this role, for
+     * {@code hasRole(...)} and {@code hasAuthority(...)} checks.
+     */
+    public List<String> authorities() {
+        return switch (this) {
+            case USER -> List.of("ROLE_USER");
+            case ADMIN -> List.of("ROLE_ADMIN");
+            case EXPORTER -> List.of("ROLE_ADMIN", EXPORT_UNMASKED);
+        };
+    }
+
+    /**
+     * Role from a stored or claimed name; null or unknown names are USER.
+     */
+    public static Role of(String name) {
+        for (Role role : values()) {
+            if (role.name().equals(name)) {
+                return role;
+            }
+        }
+        return USER;
+    }
+}
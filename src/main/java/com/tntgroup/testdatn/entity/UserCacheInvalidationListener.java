@@ -0,0 +1,47 @@
+package com.tntgroup.testdatn.entity;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tntgroup.testdatn.service.CredentialCache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Evicts cached credentials whenever a {@link User} row is written.
+ * Runs once at flush and again after commit, so a concurrent login cannot
+ * re-cache the old row in between.
+ */
+public class UserCacheInvalidationListener {
+
+    private final ObjectProvider<CredentialCache> credentialCache;
+
+    public UserCacheInvalidationListener(ObjectProvider<CredentialCache> credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onWrite(User user) {
+        CredentialCache cache = credentialCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+
+        Long id = user.getId();
+        String username = user.getUsername();
+        cache.invalidate(id, username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id, username);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tntgroup.testdatn.entity;
+
+import java.util.EnumSet;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.IdentityGenerator;
+
+import com.tntgroup.testdatn.utils.TimeOrderedIdGenerator;
+
+/**
+ * Primary keys for {@link User}: AUTO_INCREMENT by default, or time-ordered
+ * 64-bit ids assigned before the insert once {@link #useTimeOrderedIds} has
+ * been given a generator.
+ * <p>
+ * Time-ordered ids still land at the right-hand edge of the B-tree, but the
+ * insert no longer has to return the key, and bulk loads can assign ids up
+ * front. The column stays an AUTO_INCREMENT BIGINT, so switching back and
+ * forth needs no migration: explicit ids are far above any counter value,
+ * and MySQL moves the counter past them.
+ */
+public class UserIdGenerator extends IdentityGenerator implements BeforeExecutionGenerator {
+
+    private static volatile TimeOrderedIdGenerator timeOrderedIds;
+
+    /**
+     * Assign ids from {@code generator}, or let the database do it again with {@code null}.
+     */
+    public static void useTimeOrderedIds(TimeOrderedIdGenerator generator) {
+        timeOrderedIds = generator;
+    }
+
+    public static boolean isTimeOrdered() {
+        return timeOrderedIds != null;
+    }
+
+    /**
+     * Id for a row inserted outside Hibernate.
+     *
+     * @return Next time-ordered id, or null if the database assigns ids
+     */
+    public static Long nextId() {
+        TimeOrderedIdGenerator generator = timeOrderedIds;
+        return generator != null ? generator.nextLong() : null;
+    }
+
+    @Override
+    public boolean generatedOnExecution() {
+        // Insert statements are built for IDENTITY; assigned ids are bound explicitly
+        return true;
+    }
+
+    @Override
+    public boolean generatedOnExecution(Object owner, SharedSessionContractImplementor session) {
+        return timeOrderedIds == null;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        return nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
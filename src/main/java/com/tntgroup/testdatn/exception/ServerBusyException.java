@@ -0,0 +1,19 @@
+package com.tntgroup.testdatn.exception;
+
+/**
+ * Thrown when work is shed because a bounded queue is full.
+ * Mapped to 503 Service Unavailable with a Retry-After header.
+ */
+public class ServerBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,43 @@
+package com.tntgroup.testdatn.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tntgroup.testdatn.entity.ApiKey;
+
+@Repository
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+
+    @Transactional(readOnly = true)
+    List<ApiKey> findByRevokedAtIsNull();
+
+    @Transactional(readOnly = true)
+    List<ApiKey> findByUsernameOrderByCreatedAtDesc(String username);
+
+    @Transactional(readOnly = true)
+    Optional<ApiKey> findByLookupId(String lookupId);
+
+    @Transactional(readOnly = true)
+    @Query("select k.lookupId from ApiKey k where k.revokedAt > :since")
+    List<String> findLookupIdsRevokedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Revoke an owner's key; a key that is already revoked keeps its original time.
+     *
+     * @return 1 if the key was active and is now revoked, otherwise 0
+     */
+    @Transactional
+    @Modifying
+    @Query("update ApiKey k set k.revokedAt = :revokedAt "
+            + "where k.lookupId = :lookupId and k.username = :username and k.revokedAt is null")
+    int revoke(@Param("lookupId") String lookupId, @Param("username") String username,
+            @Param("revokedAt") LocalDateTime revokedAt);
+}
@@ -0,0 +1,102 @@
+package com.tntgroup.testdatn.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.tntgroup.testdatn.entity.Role;
+import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.entity.UserIdGenerator;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the users table over R2DBC, for the reactive auth
+ * API. Same table and constraints as {@link UserRepository}; the schema is
+ * still owned by JPA. Entity listeners do not run, so callers must evict
+ * cached credentials after writes.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    private static final String INSERT_SQL = "insert into users "
+            + "(username, email, password, created_at, updated_at) "
+            + "values (:username, :email, :password, :createdAt, :updatedAt)";
+
+    private static final String INSERT_WITH_ID_SQL = "insert into users "
+            + "(id, username, email, password, created_at, updated_at) "
+            + "values (:id, :username, :email, :password, :createdAt, :updatedAt)";
+
+    private static final String CREDENTIALS_SQL = "select id, username, password, role from users "
+            + "where username = :username";
+
+    private static final String UPDATE_PASSWORD_SQL = "update users set password = :password, "
+            + "updated_at = :updatedAt where id = :id";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Insert a user in one round-trip.
+     * Duplicates fail with a {@link org.springframework.dao.DataIntegrityViolationException}
+     * naming {@link User#USERNAME_CONSTRAINT} or {@link User#EMAIL_CONSTRAINT}.
+     *
+     * @return Generated user ID
+     */
+    public Mono<Long> insert(String username, String email, String passwordHash) {
+        LocalDateTime now = LocalDateTime.now();
+        Long id = UserIdGenerator.nextId();
+        if (id != null) {
+            return databaseClient.sql(INSERT_WITH_ID_SQL)
+                    .bind("id", id)
+                    .bind("username", username)
+                    .bind("email", email)
+                    .bind("password", passwordHash)
+                    .bind("createdAt", now)
+                    .bind("updatedAt", now)
+                    .fetch()
+                    .rowsUpdated()
+                    .thenReturn(id);
+        }
+        return databaseClient.sql(INSERT_SQL)
+                .bind("username", username)
+                .bind("email", email)
+                .bind("password", passwordHash)
+                .bind("createdAt", now)
+                .bind("updatedAt", now)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * Login lookup: only id, username, password hash and role.
+     *
+     * @return Credentials, or empty if there is no such user
+     */
+    public Mono<UserCredentials> findCredentialsByUsername(String username) {
+        return databaseClient.sql(CREDENTIALS_SQL)
+                .bind("username", username)
+                .map(row -> new UserCredentials(row.get("id", Long.class), row.get("username", String.class),
+                        row.get("password", String.class), Role.of(row.get("role", String.class))))
+                .one();
+    }
+
+    /**
+     * Replace a password hash.
+     *
+     * @return Number of rows updated
+     */
+    public Mono<Long> updatePassword(Long id, String passwordHash, LocalDateTime updatedAt) {
+        return databaseClient.sql(UPDATE_PASSWORD_SQL)
+                .bind("password", passwordHash)
+                .bind("updatedAt", updatedAt)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,65 @@
+package com.tntgroup.testdatn.repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.entity.UserIdGenerator;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plain JDBC inserts for bulk loads.
+ * Hibernate cannot batch inserts for IDENTITY ids because it needs each
+ * generated key before the next row; going straight to JDBC lets the driver
+ * send one batch (rewritten into a multi-row insert on MySQL) and the
+ * database hand out AUTO_INCREMENT ids itself. With time-ordered ids
+ * ({@link UserIdGenerator}) the ids are assigned here instead. Entity
+ * listeners do not run.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository {
+
+    private static final String INSERT_SQL = "insert into users "
+            + "(username, email, password, phone_number, age, created_at, updated_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_WITH_ID_SQL = "insert into users "
+            + "(username, email, password, phone_number, age, created_at, updated_at, id) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert users in a single JDBC batch.
+     *
+     * @param users Users to insert; ids are set only if time-ordered ids are on
+     */
+    public void insertAll(List<User> users) {
+        boolean assignIds = UserIdGenerator.isTimeOrdered();
+        if (assignIds) {
+            users.forEach(user -> user.setId(UserIdGenerator.nextId()));
+        }
+        jdbcTemplate.batchUpdate(assignIds ? INSERT_WITH_ID_SQL : INSERT_SQL, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getUsername());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getPassword());
+            ps.setString(4, user.getPhoneNumber());
+            if (user.getAge() != null) {
+                ps.setInt(5, user.getAge());
+            } else {
+                ps.setNull(5, Types.INTEGER);
+            }
+            ps.setTimestamp(6, Timestamp.valueOf(user.getCreatedAt()));
+            ps.setTimestamp(7, Timestamp.valueOf(user.getUpdatedAt()));
+            if (assignIds) {
+                ps.setLong(8, user.getId());
+            }
+        });
+    }
+}
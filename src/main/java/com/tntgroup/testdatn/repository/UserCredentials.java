@@ -0,0 +1,22 @@
+package com.tntgroup.testdatn.repository;
+
+import com.tntgroup.testdatn.entity.Role;
+import com.tntgroup.testdatn.entity.User;
+
+/**
+ * The part of a {@link User} needed to check a login.
+ */
+public record UserCredentials(Long id, String username, String passwordHash, Role role) {
+
+    public UserCredentials {
+        role = role == null ? Role.USER : role;
+    }
+
+    public UserCredentials(Long id, String username, String passwordHash) {
+        this(id, username, passwordHash, Role.USER);
+    }
+
+    public static UserCredentials of(User user) {
+        return new UserCredentials(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+    }
+}
@@ -1,9 +1,17 @@
 package com.tntgroup.testdatn.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.tntgroup.testdatn.entity.User;
 
@@ -16,4 +24,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Transactional(readOnly = true)
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Transactional(readOnly = true)
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Transactional(readOnly = true)
+    @Query("select u from User u where u.createdAt is not null order by u.createdAt, u.id")
+    List<User> findFirstPage(Limit limit);
+
+    /**
+     * Keyset page: users strictly after (createdAt, id) in (createdAt, id) order.
+     */
+    @Transactional(readOnly = true)
+    @Query("select u from User u where (u.createdAt, u.id) > (:createdAt, :id) order by u.createdAt, u.id")
+    List<User> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    /**
+     * Login lookup: selects only id, username, password hash and role into a DTO,
+     * in a read-only transaction, so no entity is hydrated, snapshotted or
+     * dirty-checked.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.tntgroup.testdatn.repository.UserCredentials(u.id, u.username, u.password, u.role) "
+            + "from User u where u.username = :username")
+    Optional<UserCredentials> findCredentialsByUsername(@Param("username") String username);
+
+    /**
+     * Replace a password hash without loading the entity.
+     * Bypasses entity listeners: callers must evict cached credentials.
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :passwordHash, u.updatedAt = :updatedAt where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("passwordHash") String passwordHash,
+            @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,78 @@
+package com.tntgroup.testdatn.security;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt encoder whose work factor can be picked at boot to hit a target
+ * hash latency on the current hardware.
+ * Stored hashes with a lower cost report {@link #upgradeEncoding} so they
+ * are rehashed on the next successful login. Stronger hashes are kept: a
+ * node calibrated on slower hardware must not weaken them.
+ */
+public class CalibratedBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final int MIN_STRENGTH = 4;
+    private static final int MAX_STRENGTH = 31;
+    private static final int PROBE_STRENGTH = 8;
+    private static final int PROBE_ROUNDS = 3;
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Measure BCrypt on this machine and pick the cost whose hash time is
+     * closest to the target. Each extra cost step doubles the work.
+     *
+     * @param targetLatency Desired time per hash
+     * @param minStrength   Lowest cost ever returned
+     * @return Encoder using the calibrated cost
+     */
+    public static CalibratedBCryptPasswordEncoder forTargetLatency(Duration targetLatency, int minStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        probe.encode("calibration-warmup");
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double steps = Math.log((double) targetLatency.toNanos() / best) / Math.log(2);
+        int strength = (int) Math.round(PROBE_STRENGTH + steps);
+        return new CalibratedBCryptPasswordEncoder(Math.max(Math.max(minStrength, MIN_STRENGTH),
+                Math.min(MAX_STRENGTH, strength)));
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // $2a$10$... : cost is the two digits after the second '$'
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        int cost = (encodedPassword.charAt(4) - '0') * 10 + (encodedPassword.charAt(5) - '0');
+        return cost < strength;
+    }
+}
@@ -0,0 +1,93 @@
+package com.tntgroup.testdatn.security;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.tntgroup.testdatn.entity.Role;
+import com.tntgroup.testdatn.service.JwtService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <jwt>}.
+ * The security context is filled straight from the verified claims; no user
+ * lookup happens per request; authorities come from the {@code role} claim.
+ * Tokens seen before are served from
+ * {@link VerifiedTokenCache} without re-checking the signature; revocation
+ * is checked on every request.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, role.authorities().stream()
+                    .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                    .toList());
+        }
+    }
+
+    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationStore revocationStore;
+
+    public JwtAuthenticationFilter(JwtService jwtService, VerifiedTokenCache tokenCache,
+            TokenRevocationStore revocationStore) {
+        this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        this.revocationStore = revocationStore;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        VerifiedToken verified = resolve(header.substring(BEARER_PREFIX.length()).trim());
+        if (verified.isValid() && !revocationStore.isRevoked(verified)) {
+            UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken
+                    .authenticated(verified.getSubject(), null, authorities(verified));
+            authentication.setDetails(verified);
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    static List<GrantedAuthority> authorities(VerifiedToken verified) {
+        return AUTHORITIES.get(verified.getRole() == null ? Role.USER : verified.getRole());
+    }
+
+    private VerifiedToken resolve(String token) {
+        VerifiedToken cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedToken verified = jwtService.verify(token);
+        tokenCache.put(token, verified);
+        return verified;
+    }
+}
@@ -0,0 +1,463 @@
+package com.tntgroup.testdatn.security;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Holds the key used to sign new tokens and every key still accepted for
+ * verification, looked up by the {@code kid} header.
+ * <p>
+ * With an asymmetric algorithm, keys come from a keystore shared by every
+ * node ({@code jwt.keystore.*}): every key entry is published and the
+ * configured alias, or else the last alias in sort order, signs. The file is
+ * re-read when it changes, so adding an entry rotates without a restart.
+ * Without a keystore a key pair is generated at startup, which only suits a
+ * single node that may log everyone out on restart.
+ * <p>
+ * Either way a new signing key is first published as the next key and only
+ * starts signing once it has been in the JWKS for {@link #JWKS_MAX_AGE}, so
+ * no client holding a cached copy sees a token with an unknown {@code kid}.
+ * The previous public key stays published until the last token it signed has
+ * expired.
+ */
+@Component
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    /**
+     * How long clients may cache {@code /.well-known/jwks.json}; also how long
+     * a new key is published before it signs.
+     */
+    public static final Duration JWKS_MAX_AGE = Duration.ofMinutes(5);
+
+    public enum Algorithm {
+        /** Shared secret from {@code jwt.secret}; HS256/384/512 picked by secret length. */
+        HMAC,
+        /** ECDSA over P-256. */
+        ES256,
+        /** Ed25519. */
+        EdDSA
+    }
+
+    // sinceMillis: when the key became active or, for the next key, when it was published
+    private record SigningKey(String keyId, PrivateKey key, SecureDigestAlgorithm<PrivateKey, PublicKey> algorithm,
+            long sinceMillis) {
+    }
+
+    private record VerificationKey(Key key, PublicJwk<?> jwk, long retireAtMillis) {
+    }
+
+    private record KeyStoreEntry(String alias, PrivateKey privateKey, PublicKey publicKey) {
+    }
+
+    private final Algorithm algorithm;
+    private final long tokenLifetimeMillis;
+    private final long rotationIntervalMillis;
+    private final Clock clock;
+    // Key pairs made here rather than loaded from the keystore
+    private final boolean generated;
+    // Keystore file re-read when modified; null when keys are generated or passed in
+    private final Path keyStorePath;
+    private final String keyStoreType;
+    private final char[] keyStorePassword;
+    private final String activeAlias;
+    private volatile long keyStoreModifiedMillis;
+
+    private final SecretKey hmacKey;
+    private final Map<String, VerificationKey> verificationKeys = new ConcurrentHashMap<>();
+    // Not synchronized: a virtual thread blocked on a monitor pins its carrier
+    private final ReentrantLock keyLock = new ReentrantLock();
+    private volatile SigningKey active;
+    private volatile SigningKey next;
+    private volatile String jwksJson;
+
+    @Autowired
+    public JwtKeyRing(@Value("${jwt.algorithm:HMAC}") Algorithm algorithm,
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration}") long tokenLifetimeMillis,
+            @Value("${jwt.key-rotation-interval-ms:0}") long rotationIntervalMillis,
+            @Value("${jwt.keystore.path:}") String keyStorePath,
+            @Value("${jwt.keystore.type:PKCS12}") String keyStoreType,
+            @Value("${jwt.keystore.password:}") String keyStorePassword,
+            @Value("${jwt.keystore.active-alias:}") String activeAlias) {
+        this(algorithm, secret, tokenLifetimeMillis, rotationIntervalMillis, null,
+                algorithm == Algorithm.HMAC || keyStorePath.isBlank() ? null : Path.of(keyStorePath),
+                keyStoreType, keyStorePassword.toCharArray(), activeAlias, Clock.systemUTC());
+    }
+
+    /**
+     * Ring with a generated key pair (asymmetric) or the shared secret (HMAC).
+     */
+    public JwtKeyRing(Algorithm algorithm, String secret, long tokenLifetimeMillis,
+            long rotationIntervalMillis, Clock clock) {
+        this(algorithm, secret, tokenLifetimeMillis, rotationIntervalMillis, null, null, null, null, null, clock);
+    }
+
+    /**
+     * Ring with the asymmetric keys of a keystore.
+     *
+     * @param keyStore    Every key entry is published for verification
+     * @param password    Key password
+     * @param activeAlias Entry that signs; blank for the last alias in sort order
+     */
+    public JwtKeyRing(Algorithm algorithm, long tokenLifetimeMillis, KeyStore keyStore, char[] password,
+            String activeAlias, Clock clock) {
+        this(algorithm, null, tokenLifetimeMillis, 0L, keyStore, null, null, password, activeAlias, clock);
+    }
+
+    private JwtKeyRing(Algorithm algorithm, String secret, long tokenLifetimeMillis, long rotationIntervalMillis,
+            KeyStore keyStore, Path keyStorePath, String keyStoreType, char[] password, String activeAlias,
+            Clock clock) {
+        this.algorithm = algorithm;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+        this.rotationIntervalMillis = rotationIntervalMillis;
+        this.clock = clock;
+        this.generated = algorithm != Algorithm.HMAC && keyStore == null && keyStorePath == null;
+        this.keyStorePath = keyStorePath;
+        this.keyStoreType = keyStoreType;
+        this.keyStorePassword = password;
+        this.activeAlias = activeAlias == null ? "" : activeAlias;
+
+        if (algorithm == Algorithm.HMAC) {
+            this.hmacKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            this.jwksJson = "{\"keys\":[]}";
+        } else if (keyStore != null) {
+            this.hmacKey = null;
+            loadKeys(keyStore);
+        } else if (keyStorePath != null) {
+            this.hmacKey = null;
+            try {
+                reloadKeyStore(true);
+            } catch (GeneralSecurityException | IOException e) {
+                throw new IllegalArgumentException("Cannot read keystore " + keyStorePath, e);
+            }
+        } else {
+            this.hmacKey = null;
+            log.warn("No jwt.keystore.path: generated a {} key pair; tokens will not survive a restart "
+                    + "or verify on other nodes", algorithm);
+            active = generateKey(clock.millis());
+            publishJwks();
+        }
+    }
+
+    /**
+     * Ring signing with the shared HMAC secret only, as used before key IDs existed.
+     *
+     * @param secret Shared secret
+     * @return HMAC key ring
+     */
+    public static JwtKeyRing hmac(String secret) {
+        return new JwtKeyRing(Algorithm.HMAC, secret, 0L, 0L, Clock.systemUTC());
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Key ID of the current signing key.
+     *
+     * @return kid, or null when signing with the shared HMAC secret
+     */
+    public String activeKeyId() {
+        return algorithm == Algorithm.HMAC ? null : active.keyId();
+    }
+
+    /**
+     * Key ID of the published key waiting to take over signing.
+     *
+     * @return kid, or null when no rotation is under way
+     */
+    public String nextKeyId() {
+        SigningKey pending = next;
+        return pending == null ? null : pending.keyId();
+    }
+
+    /**
+     * Sign a token with the active key, adding its {@code kid} header.
+     *
+     * @param builder Token builder with claims set
+     * @return The same builder, ready to compact
+     */
+    public JwtBuilder sign(JwtBuilder builder) {
+        if (algorithm == Algorithm.HMAC) {
+            return builder.signWith(hmacKey);
+        }
+        SigningKey signingKey = active;
+        return builder.header().keyId(signingKey.keyId()).and()
+                .signWith(signingKey.key(), signingKey.algorithm());
+    }
+
+    /**
+     * Public keys accepted for verification, as a JWK Set document.
+     *
+     * @return JWKS JSON
+     */
+    public String jwksJson() {
+        return jwksJson;
+    }
+
+    /**
+     * Publish a new next key: a freshly generated pair, or with a keystore
+     * file, its signing entry as it is now. {@link #maintain} makes it the
+     * signing key once it has been published for {@link #JWKS_MAX_AGE}; until
+     * then the current key keeps signing.
+     *
+     * @throws IllegalStateException    when the keystore was passed in; use {@link #reload}
+     * @throws IllegalArgumentException when the keystore file cannot be read
+     */
+    public void rotate() {
+        if (keyStorePath != null) {
+            try {
+                reloadKeyStore(true);
+            } catch (GeneralSecurityException | IOException e) {
+                throw new IllegalArgumentException("Cannot read keystore " + keyStorePath, e);
+            }
+            return;
+        }
+        if (!generated) {
+            throw new IllegalStateException("Keys come from a keystore object; reload it to rotate");
+        }
+
+        keyLock.lock();
+        try {
+            if (next != null) {
+                return;
+            }
+            next = generateKey(clock.millis());
+            publishJwks();
+            log.info("Published next {} signing key {}; active in {}", algorithm, next.keyId(), JWKS_MAX_AGE);
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    /**
+     * Publish the entries of an updated keystore. Entries no longer in it
+     * retire once their tokens have expired; a different signing entry
+     * becomes the next key.
+     *
+     * @param keyStore Keystore with the same password as at startup
+     * @throws IllegalArgumentException if an entry is unusable or the active alias is missing
+     */
+    public void reload(KeyStore keyStore) {
+        if (algorithm == Algorithm.HMAC || generated) {
+            throw new IllegalStateException("Keys are not loaded from a keystore");
+        }
+        loadKeys(keyStore);
+    }
+
+    /**
+     * Publish a next key when the active one is older than
+     * {@code jwt.key-rotation-interval-ms} or the keystore file has changed,
+     * activate the next key once every cached JWKS includes it, and drop
+     * verification keys whose tokens can no longer be valid.
+     */
+    @Scheduled(fixedDelayString = "${jwt.key-maintenance-interval-ms:60000}")
+    public void maintain() {
+        if (algorithm == Algorithm.HMAC) {
+            return;
+        }
+        if (keyStorePath != null) {
+            try {
+                reloadKeyStore(false);
+            } catch (GeneralSecurityException | IOException | IllegalArgumentException e) {
+                log.warn("Cannot reload keystore {}; keeping the current keys", keyStorePath, e);
+            }
+        }
+        long now = clock.millis();
+        if (generated && rotationIntervalMillis > 0 && next == null
+                && now - active.sinceMillis() >= rotationIntervalMillis) {
+            rotate();
+        }
+        SigningKey pending = next;
+        if (pending != null && now - pending.sinceMillis() >= JWKS_MAX_AGE.toMillis()) {
+            activate(pending, now);
+        }
+        if (verificationKeys.values().removeIf(k -> k.retireAtMillis() <= now)) {
+            publishJwks();
+        }
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            if (algorithm == Algorithm.HMAC) {
+                return hmacKey;
+            }
+            throw new SignatureException("Token has no key id");
+        }
+        VerificationKey key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new SignatureException("Unknown key id: " + keyId);
+        }
+        return key.key();
+    }
+
+    private void activate(SigningKey pending, long now) {
+        keyLock.lock();
+        try {
+            SigningKey previous = active;
+            VerificationKey retiring = verificationKeys.get(previous.keyId());
+            verificationKeys.put(previous.keyId(),
+                    new VerificationKey(retiring.key(), retiring.jwk(), now + tokenLifetimeMillis));
+            active = new SigningKey(pending.keyId(), pending.key(), pending.algorithm(), now);
+            next = null;
+            publishJwks();
+            log.info("Activated {} signing key {}", algorithm, pending.keyId());
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    private SigningKey generateKey(long now) {
+        KeyPair keyPair = algorithm == Algorithm.ES256
+                ? Jwts.SIG.ES256.keyPair().build()
+                : Jwks.CRV.Ed25519.keyPair().build();
+        return addKey(keyPair.getPrivate(), keyPair.getPublic(), now);
+    }
+
+    private SigningKey addKey(PrivateKey privateKey, PublicKey publicKey, long now) {
+        SecureDigestAlgorithm<PrivateKey, PublicKey> signatureAlgorithm = algorithm == Algorithm.ES256
+                ? Jwts.SIG.ES256
+                : Jwts.SIG.EdDSA;
+        PublicJwk<?> jwk = Jwks.builder()
+                .key(publicKey)
+                .algorithm(signatureAlgorithm.getId())
+                .publicKeyUse("sig")
+                .idFromThumbprint()
+                .build();
+        verificationKeys.put(jwk.getId(), new VerificationKey(publicKey, jwk, Long.MAX_VALUE));
+        return new SigningKey(jwk.getId(), privateKey, signatureAlgorithm, now);
+    }
+
+    private void reloadKeyStore(boolean force) throws GeneralSecurityException, IOException {
+        long modified = Files.getLastModifiedTime(keyStorePath).toMillis();
+        if (!force && modified == keyStoreModifiedMillis) {
+            return;
+        }
+        KeyStore keyStore = KeyStore.getInstance(keyStoreType);
+        try (InputStream in = Files.newInputStream(keyStorePath)) {
+            keyStore.load(in, keyStorePassword);
+        }
+        loadKeys(keyStore);
+        keyStoreModifiedMillis = modified;
+    }
+
+    private void loadKeys(KeyStore keyStore) {
+        // Read and check everything first: a bad file must not leave half its keys published
+        List<KeyStoreEntry> entries = new ArrayList<>();
+        String signingAlias = activeAlias.isBlank() ? null : activeAlias;
+        try {
+            for (String alias : Collections.list(keyStore.aliases())) {
+                if (!keyStore.isKeyEntry(alias)) {
+                    continue;
+                }
+                PrivateKey privateKey = (PrivateKey) keyStore.getKey(alias, keyStorePassword);
+                if (algorithm == Algorithm.ES256 ? !"EC".equals(privateKey.getAlgorithm())
+                        : !privateKey.getAlgorithm().startsWith("Ed")) {
+                    throw new IllegalArgumentException("Keystore entry " + alias + " holds a "
+                            + privateKey.getAlgorithm() + " key, not " + algorithm);
+                }
+                entries.add(new KeyStoreEntry(alias, privateKey, keyStore.getCertificate(alias).getPublicKey()));
+                if (activeAlias.isBlank() && (signingAlias == null || alias.compareTo(signingAlias) > 0)) {
+                    signingAlias = alias;
+                }
+            }
+        } catch (GeneralSecurityException | ClassCastException e) {
+            throw new IllegalArgumentException("Cannot load " + algorithm + " signing keys from keystore", e);
+        }
+        List<String> aliases = entries.stream().map(KeyStoreEntry::alias).toList();
+        if (!aliases.contains(signingAlias)) {
+            throw new IllegalArgumentException("Keystore has key entries " + aliases
+                    + "; set jwt.keystore.active-alias to one of them");
+        }
+
+        keyLock.lock();
+        try {
+            long now = clock.millis();
+            Set<String> present = new HashSet<>();
+            SigningKey signing = null;
+            for (KeyStoreEntry entry : entries) {
+                SigningKey key = addKey(entry.privateKey(), entry.publicKey(), now);
+                present.add(key.keyId());
+                if (entry.alias().equals(signingAlias)) {
+                    signing = key;
+                }
+            }
+            // Removed from the file: tokens it signed stay valid until they expire
+            verificationKeys.replaceAll((keyId, k) -> present.contains(keyId) || k.retireAtMillis() != Long.MAX_VALUE
+                    || (active != null && keyId.equals(active.keyId()))
+                    ? k
+                    : new VerificationKey(k.key(), k.jwk(), now + tokenLifetimeMillis));
+
+            if (active == null) {
+                active = signing;
+                log.info("Loaded {} signing keys from keystore, signing with {}", present.size(), active.keyId());
+            } else if (signing.keyId().equals(active.keyId())) {
+                next = null;
+            } else if (next == null || !signing.keyId().equals(next.keyId())) {
+                next = signing;
+                log.info("Published next {} signing key {} from keystore; active in {}", algorithm,
+                        signing.keyId(), JWKS_MAX_AGE);
+            }
+            publishJwks();
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    private void publishJwks() {
+        keyLock.lock();
+        try {
+            List<String> keys = new ArrayList<>();
+            verificationKeys.values().forEach(k -> keys.add(Jwks.json(k.jwk())));
+            StringJoiner joiner = new StringJoiner(",", "{\"keys\":[", "]}");
+            keys.forEach(joiner::add);
+            jwksJson = joiner.toString();
+        } finally {
+            keyLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.tntgroup.testdatn.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.tntgroup.testdatn.service.JwtService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationFilter}: authenticates
+ * {@code Authorization: Bearer <jwt>} from the verified claims alone, with
+ * the same token cache and revocation check. Verification is CPU-only, so it
+ * runs inline on the event loop.
+ */
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationStore revocationStore;
+
+    public ReactiveJwtAuthenticationFilter(JwtService jwtService, VerifiedTokenCache tokenCache,
+            TokenRevocationStore revocationStore) {
+        this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        this.revocationStore = revocationStore;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        VerifiedToken verified = resolve(header.substring(BEARER_PREFIX.length()).trim());
+        if (!verified.isValid() || revocationStore.isRevoked(verified)) {
+            return chain.filter(exchange);
+        }
+
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken
+                .authenticated(verified.getSubject(), null,
+                        JwtAuthenticationFilter.authorities(verified));
+        authentication.setDetails(verified);
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    private VerifiedToken resolve(String token) {
+        VerifiedToken cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedToken verified = jwtService.verify(token);
+        tokenCache.put(token, verified);
+        return verified;
+    }
+}
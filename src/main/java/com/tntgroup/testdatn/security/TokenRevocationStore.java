@@ -0,0 +1,387 @@
+package com.tntgroup.testdatn.security;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * In-memory list of revoked token IDs ({@code jti}).
+ * <p>
+ * Revoked IDs are grouped in buckets by their token's expiry, so a whole
+ * bucket is dropped at once when its tokens can no longer be used. A Bloom
+ * filter answers the common "not revoked" case without touching the buckets;
+ * only possible hits are confirmed against the bucket of the token's own
+ * expiry. Checks are O(1) and allocation-free.
+ * <p>
+ * The store fails closed. When it is full of live revocations, the buckets
+ * expiring first lose their exact ID sets but keep their IDs in a tombstone
+ * Bloom filter until the bucket expires. A tombstoned token is still
+ * reported revoked. The cost is false positives: a few percent of unrevoked
+ * tokens expiring in those buckets are rejected too. Tombstone filters
+ * belong to their bucket, grow with it and are dropped with it, so sustained
+ * overflow costs memory (about 10 bits per ID) rather than saturating a
+ * shared filter. Size max-entries from {@link #capacityFor} so this stays an
+ * emergency path.
+ */
+@Component
+public class TokenRevocationStore implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    private static final int HASH_FUNCTIONS = 7;
+    // ~10 bits per entry gives about 1% false positives with 7 hash functions
+    private static final int BITS_PER_ENTRY = 10;
+
+    private static final int MIN_TOMBSTONE_CAPACITY = 64;
+
+    /**
+     * Bloom filter for up to {@code capacity} tombstoned IDs of one bucket.
+     * Written only under the write lock; read lock-free.
+     */
+    private static final class Tombstone {
+        private final AtomicLongArray bits;
+        private final int bitCount;
+        private final int capacity;
+        private int count;
+        private volatile double fillRatio;
+
+        Tombstone(int capacity) {
+            this.capacity = capacity;
+            this.bitCount = capacity * BITS_PER_ENTRY;
+            this.bits = new AtomicLongArray((bitCount + 63) / 64);
+        }
+
+        boolean hasRoomFor(int ids) {
+            return count + ids <= capacity;
+        }
+
+        void addAll(Set<String> tokenIds) {
+            for (String tokenId : tokenIds) {
+                addToBloom(bits, bitCount, tokenId);
+            }
+            count += tokenIds.size();
+            long set = 0;
+            for (int i = 0; i < bits.length(); i++) {
+                set += Long.bitCount(bits.get(i));
+            }
+            fillRatio = (double) set / bitCount;
+        }
+
+        boolean mightContain(String tokenId) {
+            return TokenRevocationStore.mightContain(bits, bitCount, tokenId);
+        }
+    }
+
+    private final int maxEntries;
+    private final long bucketWidthMillis;
+    private final int bloomBits;
+    private final Clock clock;
+
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder revocations = new LongAdder();
+    private final LongAdder overflowTombstones = new LongAdder();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile AtomicLongArray bloom;
+    // Bucket -> filters of the IDs that only survive as tombstone bits, each twice the capacity of the last
+    private final ConcurrentSkipListMap<Long, List<Tombstone>> tombstones = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param maxEntries          Exact revocations held; 0 = {@link #capacityFor} the rate and lifetime
+     * @param bucketWidthMillis   Expiry range grouped into one bucket
+     * @param issueRatePerSecond  Peak rate at which tokens (jti values) are issued
+     * @param tokenLifetimeMillis Token lifetime ({@code jwt.expiration})
+     */
+    @Autowired
+    public TokenRevocationStore(@Value("${jwt.revocation.max-entries:0}") int maxEntries,
+            @Value("${jwt.revocation.bucket-width-ms:60000}") long bucketWidthMillis,
+            @Value("${jwt.revocation.issue-rate-per-second:1}") double issueRatePerSecond,
+            @Value("${jwt.expiration}") long tokenLifetimeMillis) {
+        this(maxEntries > 0 ? maxEntries : capacityFor(issueRatePerSecond, tokenLifetimeMillis), bucketWidthMillis,
+                Clock.systemUTC());
+    }
+
+    public TokenRevocationStore(int maxEntries, long bucketWidthMillis) {
+        this(maxEntries, bucketWidthMillis, Clock.systemUTC());
+    }
+
+    public TokenRevocationStore(int maxEntries, long bucketWidthMillis, Clock clock) {
+        if (maxEntries <= 0 || bucketWidthMillis <= 0) {
+            throw new IllegalArgumentException("Max entries and bucket width must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.bucketWidthMillis = bucketWidthMillis;
+        this.clock = clock;
+        this.bloomBits = Math.max(64, maxEntries * BITS_PER_ENTRY);
+        this.bloom = new AtomicLongArray((bloomBits + 63) / 64);
+    }
+
+    /**
+     * Entries needed so a full store never has to tombstone: every token
+     * issued during one lifetime could be revoked before it expires.
+     *
+     * @param issueRatePerSecond  Peak jti issue rate
+     * @param tokenLifetimeMillis Token lifetime
+     * @return Capacity for {@code jwt.revocation.max-entries}
+     */
+    public static int capacityFor(double issueRatePerSecond, long tokenLifetimeMillis) {
+        if (issueRatePerSecond <= 0 || tokenLifetimeMillis <= 0) {
+            throw new IllegalArgumentException("Issue rate and token lifetime must be positive");
+        }
+        double entries = Math.ceil(issueRatePerSecond * tokenLifetimeMillis / 1000.0);
+        return (int) Math.min(Integer.MAX_VALUE / 10, Math.max(1, entries));
+    }
+
+    /**
+     * Revoke a token until it expires.
+     *
+     * @param tokenId   The token's jti
+     * @param expiresAt The token's exp
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (tokenId == null || expiresAtMillis <= clock.millis()) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            if (size.get() >= maxEntries) {
+                makeRoom();
+            }
+            Set<String> bucket = buckets.computeIfAbsent(bucketOf(expiresAtMillis), b -> ConcurrentHashMap.newKeySet());
+            if (bucket.add(tokenId)) {
+                size.incrementAndGet();
+                revocations.increment();
+                addToBloom(bloom, bloomBits, tokenId);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Check whether a token has been revoked.
+     *
+     * @param tokenId   The token's jti (tokens without one cannot be revoked)
+     * @param expiresAt The token's exp
+     * @return true if the token was revoked (or may have been, for a tombstoned bucket)
+     */
+    public boolean isRevoked(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null) {
+            return false;
+        }
+        long bucketId = bucketOf(expiresAt.toEpochMilli());
+        if (mightContain(bloom, bloomBits, tokenId)) {
+            Set<String> bucket = buckets.get(bucketId);
+            if (bucket != null && bucket.contains(tokenId)) {
+                return true;
+            }
+        }
+        if (tombstones.isEmpty()) {
+            return false;
+        }
+        List<Tombstone> filters = tombstones.get(bucketId);
+        if (filters != null) {
+            for (Tombstone tombstone : filters) {
+                if (tombstone.mightContain(tokenId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        return isRevoked(token.getTokenId(), token.getExpiresAt());
+    }
+
+    /**
+     * Drop every bucket whose tokens have all expired and rebuild the Bloom
+     * filter from what is left.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        writeLock.lock();
+        try {
+            if (dropExpiredBuckets() > 0) {
+                rebuildBloom();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Share of bits set in the fullest live tombstone filter; false
+     * positives grow quickly past about 0.5.
+     *
+     * @return 0 when nothing is tombstoned
+     */
+    public double tombstoneFillRatio() {
+        double max = 0;
+        for (List<Tombstone> filters : tombstones.values()) {
+            for (Tombstone tombstone : filters) {
+                max = Math.max(max, tombstone.fillRatio);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jwt.revocation.size", size, AtomicInteger::get)
+                .description("Revoked token IDs held in memory")
+                .register(registry);
+        FunctionCounter.builder("jwt.revocations", revocations, LongAdder::sum)
+                .description("Tokens revoked")
+                .register(registry);
+        FunctionCounter.builder("jwt.revocation.overflow.tombstones", overflowTombstones, LongAdder::sum)
+                .description("Revocations kept only as Bloom tombstones because the store was full")
+                .register(registry);
+        Gauge.builder("jwt.revocation.tombstoned.buckets", tombstones, Map::size)
+                .description("Expiry buckets answered from tombstone filters")
+                .register(registry);
+        Gauge.builder("jwt.revocation.tombstone.fill.ratio", this, TokenRevocationStore::tombstoneFillRatio)
+                .description("Share of bits set in the fullest tombstone filter")
+                .register(registry);
+    }
+
+    private long bucketOf(long expiresAtMillis) {
+        return expiresAtMillis / bucketWidthMillis;
+    }
+
+    private int dropExpiredBuckets() {
+        // Bucket b only holds tokens expiring before (b + 1) * width
+        long firstLiveBucket = clock.millis() / bucketWidthMillis;
+        Map<Long, Set<String>> expired = buckets.headMap(firstLiveBucket);
+        int dropped = 0;
+        for (Set<String> bucket : expired.values()) {
+            dropped += bucket.size();
+        }
+        expired.clear();
+        size.addAndGet(-dropped);
+        tombstones.headMap(firstLiveBucket).clear();
+        return dropped;
+    }
+
+    private void makeRoom() {
+        dropExpiredBuckets();
+        // Still full of live revocations: tombstone the ones closest to expiring on their own
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        int tombstoned = 0;
+        while (size.get() > target) {
+            Map.Entry<Long, Set<String>> oldest = buckets.firstEntry();
+            if (oldest == null) {
+                break;
+            }
+            // Tombstone before removing, so no reader sees the IDs in neither place
+            tombstone(oldest.getKey(), oldest.getValue());
+            buckets.remove(oldest.getKey());
+            size.addAndGet(-oldest.getValue().size());
+            tombstoned += oldest.getValue().size();
+        }
+        if (tombstoned > 0) {
+            overflowTombstones.add(tombstoned);
+            log.warn("Revocation store full ({} entries); kept {} revocations expiring first as Bloom tombstones, "
+                    + "raise jwt.revocation.max-entries", maxEntries, tombstoned);
+        }
+        rebuildBloom();
+    }
+
+    /**
+     * Add a bucket's IDs to its newest tombstone filter, or start a filter
+     * twice as large once that one is full. A bucket overflowing again and
+     * again thus keeps about 1% false positives per filter over a
+     * logarithmic number of filters. Caller holds the write lock.
+     */
+    private void tombstone(long bucketId, Set<String> tokenIds) {
+        List<Tombstone> filters = tombstones.getOrDefault(bucketId, List.of());
+        Tombstone newest = filters.isEmpty() ? null : filters.get(filters.size() - 1);
+        if (newest != null && newest.hasRoomFor(tokenIds.size())) {
+            newest.addAll(tokenIds);
+            return;
+        }
+        int capacity = Math.max(MIN_TOMBSTONE_CAPACITY, tokenIds.size());
+        if (newest != null) {
+            capacity = Math.max(capacity, newest.capacity * 2);
+        }
+        Tombstone added = new Tombstone(capacity);
+        added.addAll(tokenIds);
+        tombstones.put(bucketId, Stream.concat(filters.stream(), Stream.of(added)).toList());
+    }
+
+    private void rebuildBloom() {
+        AtomicLongArray rebuilt = new AtomicLongArray(bloom.length());
+        for (Set<String> bucket : buckets.values()) {
+            for (String tokenId : bucket) {
+                addToBloom(rebuilt, bloomBits, tokenId);
+            }
+        }
+        bloom = rebuilt;
+    }
+
+    private static void addToBloom(AtomicLongArray bits, int bitCount, String tokenId) {
+        long h1 = hash(tokenId, 0xcbf29ce484222325L);
+        long h2 = hash(tokenId, 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    private static boolean mightContain(AtomicLongArray bits, int bitCount, String tokenId) {
+        long h1 = hash(tokenId, 0xcbf29ce484222325L);
+        long h2 = hash(tokenId, 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(String value, long seed) {
+        long h = seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        // Final avalanche so nearby inputs spread across the bit array
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,65 @@
+package com.tntgroup.testdatn.security;
+
+import java.time.Instant;
+import java.util.Date;
+
+import com.tntgroup.testdatn.entity.Role;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Immutable result of verifying a JWT once.
+ * Carries the claims needed by callers so the token never has to be parsed
+ * a second time.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class VerifiedToken {
+
+    public enum Status {
+        VALID,
+        EXPIRED,
+        BAD_SIGNATURE,
+        MALFORMED
+    }
+
+    /** Claim holding the {@link Role} name; absent for plain users. */
+    public static final String ROLE_CLAIM = "role";
+
+    Status status;
+    String tokenId;
+    String subject;
+    Role role;
+    Instant issuedAt;
+    Instant expiresAt;
+    String failureReason;
+
+    public static VerifiedToken valid(Claims claims) {
+        return new VerifiedToken(Status.VALID, claims.getId(), claims.getSubject(), role(claims),
+                toInstant(claims.getIssuedAt()), toInstant(claims.getExpiration()), null);
+    }
+
+    public static VerifiedToken expired(Claims claims, String reason) {
+        return new VerifiedToken(Status.EXPIRED, claims.getId(), claims.getSubject(), role(claims),
+                toInstant(claims.getIssuedAt()), toInstant(claims.getExpiration()), reason);
+    }
+
+    public static VerifiedToken rejected(Status status, String reason) {
+        return new VerifiedToken(status, null, null, null, null, null, reason);
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    private static Role role(Claims claims) {
+        return Role.of(claims.get(ROLE_CLAIM, String.class));
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+}
@@ -0,0 +1,265 @@
+package com.tntgroup.testdatn.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tntgroup.testdatn.dto.ApiKeyResponse;
+import com.tntgroup.testdatn.entity.ApiKey;
+import com.tntgroup.testdatn.repository.ApiKeyRepository;
+import com.tntgroup.testdatn.utils.KeyGeneratorUtils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Issues, revokes and authenticates API keys.
+ * <p>
+ * A key reads {@code <prefix>_<lookup id><secret>}. The database keeps the
+ * lookup ID and the SHA-256 of the secret; the plaintext key is returned
+ * once, at creation. Every active key is held in an in-memory index by
+ * lookup ID, so authenticating is one map lookup, one SHA-256 and a
+ * constant-time compare, with no database or BCrypt work. The secret is
+ * random, so a fast hash is enough.
+ * <p>
+ * Keys created or revoked through this node take effect here at once.
+ * Revocations on other nodes are polled every
+ * {@code api-keys.revocation-poll-interval-ms} (1 s by default), which bounds
+ * how long a revoked key keeps working elsewhere. Keys created on other nodes
+ * appear at the next full reload ({@code api-keys.refresh-interval-ms}).
+ */
+@Service
+public class ApiKeyService implements MeterBinder {
+
+    public static final int LOOKUP_ID_LENGTH = 12;
+    private static final int MAX_PREFIX_LENGTH = 32;
+    // Each poll looks back this far past the last one: covers commit delay and clock skew between nodes
+    private static final Duration REVOCATION_POLL_OVERLAP = Duration.ofSeconds(10);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    /**
+     * Who a valid key belongs to.
+     */
+    public record Identity(String username, String lookupId) {
+    }
+
+    private record Entry(Identity identity, String prefix, byte[] secretHash, long indexedAtMillis) {
+
+        static Entry of(ApiKey key, long indexedAtMillis) {
+            return new Entry(new Identity(key.getUsername(), key.getLookupId()), key.getPrefix(),
+                    HexFormat.of().parseHex(key.getSecretHash()), indexedAtMillis);
+        }
+    }
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final int secretLength;
+    private final Clock clock;
+
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    // Lookup ID -> when the revoke committed (Long.MAX_VALUE while in progress)
+    private final Map<String, Long> revoking = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime revocationsCheckedAt;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public ApiKeyService(ApiKeyRepository apiKeyRepository,
+            @Value("${api-keys.secret-length:32}") int secretLength) {
+        this(apiKeyRepository, secretLength, Clock.systemUTC());
+    }
+
+    public ApiKeyService(ApiKeyRepository apiKeyRepository, int secretLength, Clock clock) {
+        if (secretLength < 16) {
+            throw new IllegalArgumentException("Secret length must be at least 16");
+        }
+        this.apiKeyRepository = apiKeyRepository;
+        this.secretLength = secretLength;
+        this.clock = clock;
+        this.revocationsCheckedAt = LocalDateTime.now(clock);
+    }
+
+    /**
+     * Issue a new key.
+     *
+     * @param username Owner
+     * @param prefix   Readable prefix, e.g. "api" or "live"
+     * @return The key's details, including the plaintext key (never shown again)
+     * @throws IllegalArgumentException if the prefix is blank, too long or not [A-Za-z0-9_-]
+     */
+    public ApiKeyResponse create(String username, String prefix) {
+        validatePrefix(prefix);
+        String key = KeyGeneratorUtils.generateApiKey(prefix, LOOKUP_ID_LENGTH + secretLength);
+        int lookupStart = prefix.length() + 1;
+
+        ApiKey apiKey = new ApiKey();
+        apiKey.setLookupId(key.substring(lookupStart, lookupStart + LOOKUP_ID_LENGTH));
+        apiKey.setSecretHash(HexFormat.of().formatHex(hashSecret(key, lookupStart + LOOKUP_ID_LENGTH)));
+        apiKey.setUsername(username);
+        apiKey.setPrefix(prefix);
+        apiKey = apiKeyRepository.save(apiKey);
+        index.put(apiKey.getLookupId(), Entry.of(apiKey, clock.millis()));
+
+        ApiKeyResponse response = ApiKeyResponse.of(apiKey);
+        response.setKey(key);
+        return response;
+    }
+
+    public List<ApiKeyResponse> list(String username) {
+        return apiKeyRepository.findByUsernameOrderByCreatedAtDesc(username).stream()
+                .map(ApiKeyResponse::of)
+                .toList();
+    }
+
+    /**
+     * Revoke one of the user's keys. It stops authenticating on this node
+     * before this method returns, and on other nodes at their next
+     * revocation poll.
+     *
+     * @return false if the user has no active key with that lookup ID
+     */
+    public boolean revoke(String username, String lookupId) {
+        Entry entry = index.get(lookupId);
+        if (entry != null && !entry.identity().username().equals(username)) {
+            return false;
+        }
+        revoking.put(lookupId, Long.MAX_VALUE);
+        index.remove(lookupId);
+        try {
+            return apiKeyRepository.revoke(lookupId, username, LocalDateTime.now(clock)) == 1;
+        } finally {
+            revoking.put(lookupId, clock.millis());
+        }
+    }
+
+    /**
+     * Resolve a raw key from an {@code Authorization: ApiKey} header.
+     *
+     * @param rawKey The full key, prefix included
+     * @return The owner, or null if the key is unknown, revoked or wrong
+     */
+    public Identity authenticate(String rawKey) {
+        int separator = rawKey.lastIndexOf('_');
+        int secretStart = separator + 1 + LOOKUP_ID_LENGTH;
+        if (separator <= 0 || secretStart >= rawKey.length()) {
+            rejected.increment();
+            return null;
+        }
+
+        Entry entry = index.get(rawKey.substring(separator + 1, secretStart));
+        if (entry == null || entry.prefix().length() != separator
+                || !rawKey.startsWith(entry.prefix())
+                || !MessageDigest.isEqual(hashSecret(rawKey, secretStart), entry.secretHash())) {
+            rejected.increment();
+            return null;
+        }
+        accepted.increment();
+        return entry.identity();
+    }
+
+    /**
+     * Rebuild the index from the database: picks up keys created on other
+     * nodes and drops keys revoked there. Changes this node made while the
+     * reload ran are kept.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${api-keys.refresh-interval-ms:30000}",
+            initialDelayString = "${api-keys.refresh-interval-ms:30000}")
+    public void reload() {
+        long startedAt = clock.millis();
+        List<ApiKey> active = apiKeyRepository.findByRevokedAtIsNull();
+
+        Set<String> activeIds = new HashSet<>(active.size() * 2);
+        for (ApiKey key : active) {
+            activeIds.add(key.getLookupId());
+            if (!revoking.containsKey(key.getLookupId())) {
+                index.computeIfAbsent(key.getLookupId(), id -> Entry.of(key, startedAt));
+            }
+        }
+        // A revoke may have started after the check above
+        revoking.keySet().forEach(index::remove);
+        // Revokes committed before the query are in the snapshot from now on
+        revoking.values().removeIf(committedAt -> committedAt < startedAt);
+        // Keys indexed after the query started may be missing from it
+        index.entrySet().removeIf(e -> e.getValue().indexedAtMillis() < startedAt
+                && !activeIds.contains(e.getKey()));
+    }
+
+    /**
+     * Drop keys revoked on any node since the last poll. Cheap enough to run
+     * every second: one indexed range query that is normally empty.
+     */
+    @Scheduled(fixedDelayString = "${api-keys.revocation-poll-interval-ms:1000}")
+    public void pollRevocations() {
+        LocalDateTime startedAt = LocalDateTime.now(clock);
+        List<String> revoked = apiKeyRepository
+                .findLookupIdsRevokedSince(revocationsCheckedAt.minus(REVOCATION_POLL_OVERLAP));
+        revoked.forEach(index::remove);
+        revocationsCheckedAt = startedAt;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("api.key.authentications", accepted, LongAdder::sum)
+                .tag("result", "success")
+                .description("Requests authenticated by API key")
+                .register(registry);
+        FunctionCounter.builder("api.key.authentications", rejected, LongAdder::sum)
+                .tag("result", "rejected")
+                .description("API keys that were malformed, unknown, revoked or wrong")
+                .register(registry);
+        Gauge.builder("api.key.index.size", index, Map::size)
+                .description("Active API keys held in memory")
+                .register(registry);
+    }
+
+    private static byte[] hashSecret(String key, int secretStart) {
+        // Keys are ASCII; anything else cannot match a stored hash anyway
+        byte[] bytes = key.getBytes(StandardCharsets.US_ASCII);
+        MessageDigest digest = SHA_256.get();
+        digest.update(bytes, secretStart, bytes.length - secretStart);
+        return digest.digest();
+    }
+
+    private static void validatePrefix(String prefix) {
+        if (prefix == null || prefix.isBlank() || prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("Prefix must be 1 to " + MAX_PREFIX_LENGTH + " characters");
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '-')) {
+                throw new IllegalArgumentException("Prefix may only contain letters, digits, '_' and '-'");
+            }
+        }
+    }
+}
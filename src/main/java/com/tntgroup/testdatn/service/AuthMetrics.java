@@ -0,0 +1,70 @@
+package com.tntgroup.testdatn.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers for the login and register flows.
+ * {@code auth.requests} times a whole call tagged with its outcome;
+ * {@code auth.stage} times each stage (validate, db, bcrypt, token, rehash)
+ * tagged with whether it completed or threw.
+ */
+@Component
+public class AuthMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+
+    private final MeterRegistry registry;
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Record a whole call.
+     *
+     * @param outcome success, or why it failed (e.g. invalid_input, duplicate, busy)
+     */
+    public void stop(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder("auth.requests")
+                .description("Login and register calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public <T> T stage(String operation, String stage, Supplier<T> body) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = FAILURE;
+        try {
+            T result = body.get();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            sample.stop(Timer.builder("auth.stage")
+                    .description("Time spent in each stage of login and register")
+                    .tag("operation", operation)
+                    .tag("stage", stage)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public void stage(String operation, String stage, Runnable body) {
+        stage(operation, stage, () -> {
+            body.run();
+            return null;
+        });
+    }
+}
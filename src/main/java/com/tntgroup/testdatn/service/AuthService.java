@@ -1,15 +1,28 @@
 package com.tntgroup.testdatn.service;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import com.tntgroup.testdatn.dto.AuthResponse;
 import com.tntgroup.testdatn.dto.LoginRequest;
 import com.tntgroup.testdatn.dto.RegisterRequest;
 import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.exception.ServerBusyException;
+import com.tntgroup.testdatn.repository.UserCredentials;
 import com.tntgroup.testdatn.repository.UserRepository;
+import com.tntgroup.testdatn.security.TokenRevocationStore;
+import com.tntgroup.testdatn.security.VerifiedToken;
+import com.tntgroup.testdatn.security.VerifiedTokenCache;
 import com.tntgroup.testdatn.utils.ValidationUtils;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -20,61 +33,188 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
+    private static final String REGISTER = "register";
+    private static final String LOGIN = "login";
+
+    private static final String USERNAME_TAKEN = "Username already exists";
+    private static final String EMAIL_TAKEN = "Email already exists";
+    private static final String DUPLICATE_USER = "Username or email already exists";
+
     private final UserRepository userRepository;
     private final JwtService jwtService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenRevocationStore revocationStore;
+    private final VerifiedTokenCache tokenCache;
+    private final CredentialCache credentialCache;
+    private final AuthMetrics authMetrics;
 
     public AuthResponse register(RegisterRequest request) {
-        // Validate input using ValidationUtils directly
-        if (!ValidationUtils.isValidEmail(request.getEmail())) {
+        Timer.Sample sample = authMetrics.start();
+        String outcome = "invalid_input";
+        try {
+            authMetrics.stage(REGISTER, "validate",
+                    () -> validateRegistration(request.getUsername(), request.getEmail(), request.getPassword()));
+            outcome = "error";
+
+            // Create user; the unique constraints reject duplicates in the same round-trip
+            User user = new User();
+            user.setUsername(request.getUsername());
+            user.setEmail(request.getEmail());
+            user.setPassword(authMetrics.stage(REGISTER, "bcrypt",
+                    () -> passwordHashingService.encode(request.getPassword())));
+            try {
+                authMetrics.stage(REGISTER, "db", () -> userRepository.saveAndFlush(user));
+            } catch (DataIntegrityViolationException e) {
+                outcome = "duplicate";
+                throw registerConflict(e, request);
+            }
+
+            // Generate token
+            String token = authMetrics.stage(REGISTER, "token", () -> jwtService.generateToken(user.getUsername()));
+
+            outcome = AuthMetrics.SUCCESS;
+            return AuthResponse.builder()
+                    .token(token)
+                    .username(user.getUsername())
+                    .message("Registration successful")
+                    .build();
+        } catch (ServerBusyException e) {
+            outcome = "busy";
+            throw e;
+        } finally {
+            authMetrics.stop(sample, REGISTER, outcome);
+        }
+    }
+
+    public AuthResponse login(LoginRequest request) {
+        Timer.Sample sample = authMetrics.start();
+        String outcome = "error";
+        try {
+            Optional<UserCredentials> found = authMetrics.stage(LOGIN, "db",
+                    () -> credentialCache.get(request.getUsername(), userRepository::findCredentialsByUsername));
+            if (found.isEmpty()) {
+                outcome = "unknown_user";
+                throw new RuntimeException("User not found");
+            }
+            UserCredentials user = found.get();
+
+            if (!authMetrics.stage(LOGIN, "bcrypt",
+                    () -> passwordHashingService.matches(request.getPassword(), user.passwordHash()))) {
+                outcome = "bad_password";
+                throw new RuntimeException("Invalid password");
+            }
+            upgradePasswordHash(user, request.getPassword());
+
+            String token = authMetrics.stage(LOGIN, "token", () -> jwtService.generateToken(user.username(), user.role()));
+
+            outcome = AuthMetrics.SUCCESS;
+            return AuthResponse.builder()
+                    .token(token)
+                    .username(user.username())
+                    .message("Login successful")
+                    .build();
+        } catch (ServerBusyException e) {
+            outcome = "busy";
+            throw e;
+        } finally {
+            authMetrics.stop(sample, LOGIN, outcome);
+        }
+    }
+
+    /**
+     * Registration rules shared with the bulk import.
+     */
+    static void validateRegistration(String username, String email, String password) {
+        if (!ValidationUtils.isValidEmail(email)) {
             throw new RuntimeException("Invalid email format");
         }
-        if (!ValidationUtils.isValidPassword(request.getPassword())) {
+        // Checked here so an overflow is not mistaken for a constraint violation on insert
+        if (email.length() > User.EMAIL_LENGTH) {
+            throw new RuntimeException("Email must be at most " + User.EMAIL_LENGTH + " characters");
+        }
+        if (!ValidationUtils.isValidPassword(password)) {
             throw new RuntimeException("Password must be at least 8 characters with uppercase, lowercase, and digit");
         }
-        if (!ValidationUtils.isValidUsername(request.getUsername())) {
+        if (!ValidationUtils.isValidUsername(username)) {
             throw new RuntimeException("Username must be 3-20 characters, alphanumeric only");
         }
+    }
 
-        // Check duplicates
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username already exists");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already exists");
+    /**
+     * Client-facing error for a unique constraint violation on users.
+     * Never carries the exception's own message, which holds SQL and column
+     * values; when the constraint cannot be told, the message is generic.
+     */
+    public static RuntimeException duplicateUserError(DataIntegrityViolationException e) {
+        String message = duplicateUserMessage(e);
+        return new RuntimeException(message != null ? message : DUPLICATE_USER);
+    }
+
+    private RuntimeException registerConflict(DataIntegrityViolationException e, RegisterRequest request) {
+        String message = duplicateUserMessage(e);
+        if (message == null) {
+            // The driver did not name the constraint: ask which value is taken
+            log.debug("Unnamed constraint violation on register", e);
+            message = userRepository.existsByUsername(request.getUsername()) ? USERNAME_TAKEN
+                    : userRepository.existsByEmail(request.getEmail()) ? EMAIL_TAKEN
+                    : DUPLICATE_USER;
         }
+        return new RuntimeException(message);
+    }
 
-        // Create user
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        userRepository.save(user);
-
-        // Generate token
-        String token = jwtService.generateToken(user.getUsername());
-
-        return AuthResponse.builder()
-                .token(token)
-                .username(user.getUsername())
-                .message("Registration successful")
-                .build();
+    /**
+     * @return The message for a username or email unique constraint, or null for any other violation
+     */
+    static String duplicateUserMessage(DataIntegrityViolationException e) {
+        String violated = violatedConstraint(e);
+        if (violated.contains(User.USERNAME_CONSTRAINT)) {
+            return USERNAME_TAKEN;
+        }
+        if (violated.contains(User.EMAIL_CONSTRAINT)) {
+            return EMAIL_TAKEN;
+        }
+        return null;
     }
 
-    public AuthResponse login(LoginRequest request) {
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private static String violatedConstraint(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message == null ? "" : message.toLowerCase(Locale.ROOT);
+    }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Invalid password");
+    private void upgradePasswordHash(UserCredentials credentials, String rawPassword) {
+        if (!passwordHashingService.needsUpgrade(credentials.passwordHash())) {
+            return;
         }
+        try {
+            authMetrics.stage(LOGIN, "rehash", () -> {
+                String upgraded = passwordHashingService.encode(rawPassword);
+                userRepository.updatePassword(credentials.id(), upgraded, LocalDateTime.now());
+                credentialCache.invalidate(credentials.id(), credentials.username());
+            });
+        } catch (ServerBusyException e) {
+            // Login already succeeded; upgrade on a quieter attempt
+            log.debug("Skipped password rehash for {}: hashing pool busy", credentials.username());
+        }
+    }
 
-        String token = jwtService.generateToken(user.getUsername());
+    public void logout(String token) {
+        VerifiedToken verified = jwtService.verify(token);
+        if (verified.getStatus() == VerifiedToken.Status.EXPIRED) {
+            // Already unusable, nothing to revoke
+            return;
+        }
+        if (!verified.isValid()) {
+            throw new RuntimeException("Invalid token");
+        }
 
-        return AuthResponse.builder()
-                .token(token)
-                .username(user.getUsername())
-                .message("Login successful")
-                .build();
+        revocationStore.revoke(verified.getTokenId(), verified.getExpiresAt());
+        tokenCache.invalidate(token);
     }
 }
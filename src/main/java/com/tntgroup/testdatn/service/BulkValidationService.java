@@ -0,0 +1,392 @@
+package com.tntgroup.testdatn.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.tntgroup.testdatn.dto.ValidationRecord;
+import com.tntgroup.testdatn.dto.ValidationSummary;
+import com.tntgroup.testdatn.utils.ValidationUtils;
+
+import jakarta.annotation.PreDestroy;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Checks contact records against the ValidationUtils rules without storing
+ * anything.
+ * Input is cut into batches; a dedicated pool parses, validates and renders
+ * the result lines of each batch in parallel while the calling thread writes
+ * finished batches in input order. At most max-in-flight batches exist at
+ * once and a new batch is only submitted after the oldest one has been
+ * written, so memory stays flat whatever the input size and a slow client
+ * slows validation down. Lines longer than max-record-length are skipped
+ * to their end rather than buffered and reported as a record error.
+ */
+@Service
+public class BulkValidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkValidationService.class);
+
+    private static final List<String> CSV_FIELDS = List.of("email", "phonenumber", "cardnumber", "age");
+    private static final int DEFAULT_MAX_RECORD_LENGTH = 65536;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private record Batch(int valid, int invalid, String lines) {
+    }
+
+    private final JsonMapper jsonMapper;
+    private final ThreadPoolExecutor executor;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final int maxRecordLength;
+
+    public BulkValidationService(JsonMapper jsonMapper, int threads, int batchSize, int maxInFlight) {
+        this(jsonMapper, threads, batchSize, maxInFlight, DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    @Autowired
+    public BulkValidationService(JsonMapper jsonMapper,
+            @Value("${validation.bulk.threads:0}") int threads,
+            @Value("${validation.bulk.batch-size:1000}") int batchSize,
+            @Value("${validation.bulk.max-in-flight-batches:0}") int maxInFlight,
+            @Value("${validation.bulk.max-record-length:65536}") int maxRecordLength) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.jsonMapper = jsonMapper;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : 2 * poolSize;
+        this.maxRecordLength = maxRecordLength;
+        // Unbounded queue: each run caps its own submissions at maxInFlight
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-validation-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Validate every record and write one NDJSON result line per record, in
+     * input order: {@code {"row":1,"id":"c-17","valid":false,"errors":{"email":"Invalid email"}}}.
+     * Blank or missing fields are not checked; {@code id} is echoed back when present.
+     *
+     * @param input  CSV (with a header line) or NDJSON records; blank lines are ignored
+     * @param format Input format
+     * @param out    Destination, flushed after every batch but not closed
+     * @return Counts and throughput for this run
+     * @throws IllegalArgumentException if the CSV header is too long or has none of the validated columns
+     * @throws IOException              if reading the input or writing the results fails
+     */
+    public ValidationSummary validate(Reader input, Format format, Writer out) throws IOException {
+        long started = System.nanoTime();
+        LineReader reader = new LineReader(input, maxRecordLength);
+        Map<String, Integer> columns = null;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            if (reader.oversized) {
+                throw new IllegalArgumentException("CSV header is longer than " + maxRecordLength + " characters");
+            }
+            columns = csvColumns(header);
+        }
+        ValidationRun run = new ValidationRun(format, columns, out);
+        run.readAll(reader);
+
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        ValidationSummary summary = ValidationSummary.builder()
+                .records(run.records)
+                .valid(run.valid)
+                .invalid(run.invalid)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .recordsPerSecond(run.records * TimeUnit.SECONDS.toNanos(1) / elapsedNanos)
+                .build();
+        log.info("Validated {} records ({} invalid) in {} ms: {} records/s", summary.getRecords(),
+                summary.getInvalid(), summary.getElapsedMs(), summary.getRecordsPerSecond());
+        return summary;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * State of one run; only touched by the calling thread.
+     */
+    private final class ValidationRun {
+
+        private final Format format;
+        private final Map<String, Integer> columns;
+        private final Writer out;
+        private final Deque<Future<Batch>> inFlight = new ArrayDeque<>();
+        private long records;
+        private long valid;
+        private long invalid;
+
+        private ValidationRun(Format format, Map<String, Integer> columns, Writer out) {
+            this.format = format;
+            this.columns = columns;
+            this.out = out;
+        }
+
+        void readAll(LineReader reader) throws IOException {
+            try {
+                List<String> lines = new ArrayList<>(batchSize);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (reader.oversized) {
+                        // null marks a record too long to keep
+                        lines.add(null);
+                    } else if (line.isBlank()) {
+                        continue;
+                    } else {
+                        lines.add(line);
+                    }
+                    if (lines.size() == batchSize) {
+                        submit(lines);
+                        lines = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!lines.isEmpty()) {
+                    submit(lines);
+                }
+                while (!inFlight.isEmpty()) {
+                    write(await(inFlight.poll()));
+                }
+            } finally {
+                inFlight.forEach(future -> future.cancel(true));
+            }
+        }
+
+        private void submit(List<String> lines) throws IOException {
+            if (inFlight.size() >= maxInFlight) {
+                write(await(inFlight.poll()));
+            }
+            long firstRow = records + 1;
+            records += lines.size();
+            inFlight.add(executor.submit(() -> check(firstRow, lines)));
+        }
+
+        /**
+         * Runs on the validation pool: parse and check every record, rendering
+         * the result lines as one block of text.
+         */
+        private Batch check(long firstRow, List<String> lines) {
+            StringBuilder text = new StringBuilder(lines.size() * 48);
+            int passed = 0;
+            long row = firstRow;
+            for (String line : lines) {
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("row", row++);
+                Map<String, String> errors = new LinkedHashMap<>();
+                if (line == null) {
+                    errors.put("record", "Record is longer than " + maxRecordLength + " characters");
+                } else {
+                    try {
+                        ValidationRecord record = format == Format.NDJSON ? parseJson(line)
+                                : parseCsv(line, columns);
+                        if (record.getId() != null) {
+                            result.put("id", record.getId());
+                        }
+                        checkFields(record, errors);
+                    } catch (IllegalArgumentException e) {
+                        errors.put("record", e.getMessage());
+                    }
+                }
+                result.put("valid", errors.isEmpty());
+                if (errors.isEmpty()) {
+                    passed++;
+                } else {
+                    result.put("errors", errors);
+                }
+                text.append(jsonMapper.writeValueAsString(result)).append('\n');
+            }
+            return new Batch(passed, lines.size() - passed, text.toString());
+        }
+
+        private void write(Batch batch) throws IOException {
+            out.write(batch.lines());
+            out.flush();
+            valid += batch.valid();
+            invalid += batch.invalid();
+        }
+    }
+
+    /**
+     * Line reader with a length cap: like {@link BufferedReader#readLine}, but
+     * the rest of a line over the cap is skipped instead of buffered, so one
+     * huge line or a body without newlines cannot exhaust memory.
+     */
+    private static final class LineReader {
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int pos;
+        private int limit;
+        private boolean skipLineFeed;
+        // The line last returned was over the cap; it is returned empty
+        boolean oversized;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return The next line without its terminator, or null at the end of input
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            oversized = false;
+            boolean started = false;
+            while (true) {
+                if (pos == limit) {
+                    limit = Math.max(in.read(buffer, 0, buffer.length), 0);
+                    pos = 0;
+                    if (limit == 0) {
+                        return started ? line.toString() : null;
+                    }
+                }
+                // \r\n is one terminator
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (buffer[pos] == '\n') {
+                        pos++;
+                        continue;
+                    }
+                }
+                started = true;
+                int start = pos;
+                while (pos < limit && buffer[pos] != '\n' && buffer[pos] != '\r') {
+                    pos++;
+                }
+                append(start, pos);
+                if (pos < limit) {
+                    skipLineFeed = buffer[pos++] == '\r';
+                    return line.toString();
+                }
+            }
+        }
+
+        private void append(int start, int end) {
+            if (oversized) {
+                return;
+            }
+            if (line.length() + end - start > maxLength) {
+                oversized = true;
+                line.setLength(0);
+                return;
+            }
+            line.append(buffer, start, end - start);
+        }
+    }
+
+    private static void checkFields(ValidationRecord record, Map<String, String> errors) {
+        if (isPresent(record.getEmail()) && !ValidationUtils.isValidEmail(record.getEmail())) {
+            errors.put("email", "Invalid email");
+        }
+        if (isPresent(record.getPhoneNumber()) && !ValidationUtils.isValidPhoneNumber(record.getPhoneNumber())) {
+            errors.put("phoneNumber", "Invalid phone number");
+        }
+        if (isPresent(record.getCardNumber()) && !ValidationUtils.isValidCreditCard(record.getCardNumber())) {
+            errors.put("cardNumber", "Invalid card number");
+        }
+        if (isPresent(record.getAge())) {
+            try {
+                if (!ValidationUtils.isValidAge(Integer.parseInt(record.getAge().trim()))) {
+                    errors.put("age", "Age must be between 1 and 150");
+                }
+            } catch (NumberFormatException e) {
+                errors.put("age", "Age must be a whole number");
+            }
+        }
+    }
+
+    private ValidationRecord parseJson(String line) {
+        ValidationRecord record;
+        try {
+            record = jsonMapper.readValue(line, ValidationRecord.class);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        if (record == null) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        return record;
+    }
+
+    private static ValidationRecord parseCsv(String line, Map<String, Integer> columns) {
+        List<String> fields = UserImportService.splitCsv(line);
+        ValidationRecord record = new ValidationRecord();
+        record.setId(field(fields, columns, "id"));
+        record.setEmail(field(fields, columns, "email"));
+        record.setPhoneNumber(field(fields, columns, "phonenumber"));
+        record.setCardNumber(field(fields, columns, "cardnumber"));
+        record.setAge(field(fields, columns, "age"));
+        return record;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private static boolean isPresent(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static Batch await(Future<Batch> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while validating", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Validation batch failed", e.getCause());
+        }
+    }
+
+    private static Map<String, Integer> csvColumns(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input needs a header line");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = UserImportService.splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (CSV_FIELDS.stream().noneMatch(columns::containsKey)) {
+            throw new IllegalArgumentException("CSV header must contain email, phoneNumber, cardNumber or age");
+        }
+        return columns;
+    }
+}
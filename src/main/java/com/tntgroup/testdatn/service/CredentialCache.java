@@ -0,0 +1,265 @@
+package com.tntgroup.testdatn.service;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tntgroup.testdatn.repository.UserCredentials;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Bounded TTL cache of username to login credentials, in front of the
+ * database lookup done on every login. Unknown usernames are cached too, for
+ * a shorter time, so retried bogus logins do not reach the database.
+ * <p>
+ * Entries are invalidated whenever a user is written (see
+ * {@link com.tntgroup.testdatn.entity.UserCacheInvalidationListener}); a load
+ * that overlaps an invalidation is returned but not cached. An ID to key
+ * index lets a write drop the entry under the user's old username without
+ * scanning the cache.
+ */
+@Component
+public class CredentialCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "credentials";
+
+    private record Entry(UserCredentials credentials, long expiresAtMillis) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // User ID -> key of its cached entry, so a rename finds the old username
+    private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Clock clock;
+
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public CredentialCache(@Value("${credentials.cache.max-entries:10000}") int maxEntries,
+            @Value("${credentials.cache.ttl-ms:300000}") long ttlMillis,
+            @Value("${credentials.cache.negative-ttl-ms:30000}") long negativeTtlMillis) {
+        this(maxEntries, ttlMillis, negativeTtlMillis, Clock.systemUTC());
+    }
+
+    public CredentialCache(int maxEntries, long ttlMillis, long negativeTtlMillis, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Get credentials for a username, loading them on a miss.
+     *
+     * @param username Login name
+     * @param loader   Database lookup used on a miss
+     * @return Credentials, or empty if the user does not exist or the username is blank
+     */
+    public Optional<UserCredentials> get(String username, Function<String, Optional<UserCredentials>> loader) {
+        if (isBlank(username)) {
+            return Optional.empty();
+        }
+        String key = key(username);
+        long now = clock.millis();
+        Entry entry = lookup(key, now);
+        if (entry != null) {
+            return Optional.ofNullable(entry.credentials());
+        }
+
+        long generation = invalidations.get();
+        Optional<UserCredentials> loaded = loader.apply(username);
+        store(key, loaded, now, generation);
+        return loaded;
+    }
+
+    /**
+     * Get credentials for a username, loading them asynchronously on a miss.
+     * Hits complete immediately; the caller is never blocked.
+     *
+     * @param username Login name
+     * @param loader   Non-blocking database lookup used on a miss
+     * @return Credentials, or empty if the user does not exist or the username is blank
+     */
+    public CompletionStage<Optional<UserCredentials>> getAsync(String username,
+            Function<String, CompletionStage<Optional<UserCredentials>>> loader) {
+        if (isBlank(username)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        String key = key(username);
+        long now = clock.millis();
+        Entry entry = lookup(key, now);
+        if (entry != null) {
+            return CompletableFuture.completedFuture(Optional.ofNullable(entry.credentials()));
+        }
+
+        long generation = invalidations.get();
+        return loader.apply(username).thenApply(loaded -> {
+            store(key, loaded, now, generation);
+            return loaded;
+        });
+    }
+
+    /**
+     * Forget everything cached for a user: the entry under its current
+     * username and, through the ID index, the one under a previous username.
+     *
+     * @param id       User ID (may be null for a user not yet saved)
+     * @param username Login name
+     */
+    public void invalidate(Long id, String username) {
+        invalidations.incrementAndGet();
+        if (!isBlank(username)) {
+            entries.remove(key(username));
+        }
+        if (id != null) {
+            String previousKey = keysById.remove(id);
+            if (previousKey != null) {
+                entries.remove(previousKey);
+            }
+        }
+    }
+
+    /**
+     * Drop expired entries.
+     */
+    @Scheduled(fixedDelayString = "${credentials.cache.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = clock.millis();
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> entry = it.next();
+            if (entry.getValue().expiresAtMillis() <= now) {
+                it.remove();
+                unindex(entry.getKey(), entry.getValue());
+                evictions.increment();
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .description("Credential cache hits")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .description("Credential cache misses")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .description("Credential cache evictions")
+                .register(registry);
+        Gauge.builder("cache.size", entries, Map::size)
+                .tag("cache", CACHE_NAME)
+                .description("Credential cache size")
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", this, CredentialCache::hitRatio)
+                .tag("cache", CACHE_NAME)
+                .description("Credential cache hits / lookups since start")
+                .register(registry);
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private Entry lookup(String key, long now) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAtMillis() > now) {
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        return null;
+    }
+
+    private void store(String key, Optional<UserCredentials> loaded, long now, long generation) {
+        long ttl = loaded.isPresent() ? ttlMillis : negativeTtlMillis;
+        if (ttl <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            makeRoom();
+        }
+        UserCredentials credentials = loaded.orElse(null);
+        if (credentials != null && credentials.id() != null) {
+            // Indexed first, so an invalidation racing with the put below always finds the key
+            keysById.put(credentials.id(), key);
+        }
+        entries.put(key, new Entry(credentials, now + ttl));
+        // An invalidation ran while we were loading: what we read may be stale
+        if (invalidations.get() != generation) {
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                unindex(key, removed);
+            }
+        }
+    }
+
+    private void unindex(String key, Entry entry) {
+        if (entry.credentials() != null && entry.credentials().id() != null) {
+            keysById.remove(entry.credentials().id(), key);
+        }
+    }
+
+    private void makeRoom() {
+        evictExpired();
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            Map.Entry<String, Entry> entry = it.next();
+            it.remove();
+            unindex(entry.getKey(), entry.getValue());
+            evictions.increment();
+        }
+    }
+
+    private static boolean isBlank(String username) {
+        return username == null || username.isBlank();
+    }
+
+    private static String key(String username) {
+        // MySQL's default collation compares usernames case-insensitively
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
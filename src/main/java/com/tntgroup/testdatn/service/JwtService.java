@@ -1,67 +1,160 @@
 package com.tntgroup.testdatn.service;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import java.util.function.Function;
-
-import javax.crypto.SecretKey;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.tntgroup.testdatn.entity.Role;
+import com.tntgroup.testdatn.security.JwtKeyRing;
+import com.tntgroup.testdatn.security.VerifiedToken;
+import com.tntgroup.testdatn.utils.KeyGeneratorUtils;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * JWT Token Service for authentication.
+ * Keys come from {@link JwtKeyRing}; the parser is built once, is thread-safe
+ * and resolves the verification key from the {@code kid} header.
  */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private static final int TOKEN_ID_BYTES = 16;
+
+    private final long jwtExpiration;
+    private final JwtKeyRing keyRing;
+    private final JwtParser jwtParser;
+
+    private final Timer signSuccess;
+    private final Timer signFailure;
+    private final Map<VerifiedToken.Status, Timer> verifyTimers = new EnumMap<>(VerifiedToken.Status.class);
+    private final DistributionSummary tokenSize;
+
+    @Autowired
+    public JwtService(JwtKeyRing keyRing, MeterRegistry meterRegistry,
+            @Value("${jwt.expiration}") long jwtExpiration) {
+        this.jwtExpiration = jwtExpiration;
+        this.keyRing = keyRing;
+        this.jwtParser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
+
+        this.signSuccess = signTimer(meterRegistry, "success");
+        this.signFailure = signTimer(meterRegistry, "failure");
+        for (VerifiedToken.Status status : VerifiedToken.Status.values()) {
+            verifyTimers.put(status, Timer.builder("jwt.verify")
+                    .description("Token parsing and signature verification")
+                    .tag("outcome", status.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        this.tokenSize = DistributionSummary.builder("jwt.token.size")
+                .description("Length of issued tokens")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public JwtService(JwtKeyRing keyRing, long jwtExpiration) {
+        this(keyRing, Metrics.globalRegistry, jwtExpiration);
+    }
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    public JwtService(String secretKey, long jwtExpiration) {
+        this(JwtKeyRing.hmac(secretKey), jwtExpiration);
+    }
 
     public String generateToken(String username) {
-        return Jwts.builder()
-                .subject(username)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey())
-                .compact();
+        return generateToken(username, Role.USER);
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Issue a token for the given role. Plain users get no role claim, which
+     * keeps their tokens as small as before roles existed.
+     */
+    public String generateToken(String username, Role role) {
+        long start = System.nanoTime();
+        try {
+            long now = System.currentTimeMillis();
+            JwtBuilder builder = Jwts.builder()
+                    .id(KeyGeneratorUtils.generateUrlSafeKey(TOKEN_ID_BYTES))
+                    .subject(username)
+                    .issuedAt(new Date(now))
+                    .expiration(new Date(now + jwtExpiration));
+            if (role != null && role != Role.USER) {
+                builder.claim(VerifiedToken.ROLE_CLAIM, role.name());
+            }
+            String token = keyRing.sign(builder).compact();
+            signSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            tokenSize.record(token.length());
+            return token;
+        } catch (RuntimeException e) {
+            signFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
     }
 
-    public boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return extractedUsername.equals(username) && !isTokenExpired(token);
+    /**
+     * Parse and verify a token exactly once.
+     * Never throws for bad input; the failure is reported in the returned view.
+     *
+     * @param token Compact JWT string
+     * @return Verified token view with subject, timestamps and status
+     */
+    public VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        VerifiedToken verified = parse(token);
+        verifyTimers.get(verified.getStatus()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return verified;
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    private VerifiedToken parse(String token) {
+        if (token == null || token.isBlank()) {
+            return VerifiedToken.rejected(VerifiedToken.Status.MALFORMED, "Token is empty");
+        }
+        try {
+            return VerifiedToken.valid(jwtParser.parseSignedClaims(token).getPayload());
+        } catch (ExpiredJwtException e) {
+            return VerifiedToken.expired(e.getClaims(), e.getMessage());
+        } catch (SignatureException e) {
+            return VerifiedToken.rejected(VerifiedToken.Status.BAD_SIGNATURE, e.getMessage());
+        } catch (JwtException | IllegalArgumentException e) {
+            return VerifiedToken.rejected(VerifiedToken.Status.MALFORMED, e.getMessage());
+        }
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String extractUsername(String token) {
+        return extractAllClaims(token).getSubject();
+    }
+
+    public boolean isTokenValid(String token, String username) {
+        VerifiedToken verified = verify(token);
+        return verified.isValid() && username != null && username.equals(verified.getSubject());
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static Timer signTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.sign")
+                .description("Token creation and signing")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
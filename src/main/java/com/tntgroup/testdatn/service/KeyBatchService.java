@@ -0,0 +1,232 @@
+package com.tntgroup.testdatn.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.tntgroup.testdatn.utils.KeyGeneratorUtils;
+import com.tntgroup.testdatn.utils.TimeOrderedIdGenerator;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Streams large batches of random keys.
+ * Keys are generated in fixed-size chunks on a dedicated pool and written
+ * by the calling thread in order. At most max-in-flight chunks exist at
+ * once and a new chunk is only submitted after the oldest one has been
+ * written, so a slow client slows generation down instead of filling memory.
+ */
+@Service
+public class KeyBatchService {
+
+    public enum Format {
+        /** One key per line. */
+        TEXT,
+        /** One {@code {"key":"..."}} object per line. */
+        NDJSON
+    }
+
+    public enum KeyType {
+        ALPHANUMERIC, HEX, BASE64, URL_SAFE, UUID, UUID_V7, ULID;
+
+        /**
+         * Same names as the single-key endpoints.
+         *
+         * @throws IllegalArgumentException if the name is not a known key type
+         */
+        public static KeyType of(String name) {
+            return switch (name == null ? "" : name.toLowerCase(Locale.ROOT)) {
+                case "alphanumeric" -> ALPHANUMERIC;
+                case "hex" -> HEX;
+                case "base64" -> BASE64;
+                case "url-safe" -> URL_SAFE;
+                case "uuid" -> UUID;
+                case "uuid-v7" -> UUID_V7;
+                case "ulid" -> ULID;
+                default -> throw new IllegalArgumentException("Unknown key type: " + name);
+            };
+        }
+
+        /**
+         * Whether the key has a fixed length and ignores the length parameter.
+         */
+        boolean fixedLength() {
+            return this == UUID || this == UUID_V7 || this == ULID;
+        }
+    }
+
+    private record Chunk(int keys, byte[] bytes) {
+    }
+
+    private static final char[] NDJSON_PREFIX = "{\"key\":\"".toCharArray();
+    private static final char[] NDJSON_SUFFIX = "\"}".toCharArray();
+
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final long maxCount;
+    private final int maxLength;
+
+    public KeyBatchService(@Value("${keys.batch.threads:0}") int threads,
+            @Value("${keys.batch.chunk-size:4096}") int chunkSize,
+            @Value("${keys.batch.max-in-flight-chunks:0}") int maxInFlight,
+            @Value("${keys.batch.max-count:10000000}") long maxCount,
+            @Value("${keys.batch.max-length:512}") int maxLength) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : 2 * poolSize;
+        this.maxCount = maxCount;
+        this.maxLength = maxLength;
+        // Unbounded queue: each stream caps its own submissions at maxInFlight
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "key-batch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Reject a request before any output is written.
+     *
+     * @throws IllegalArgumentException if count or length is out of range
+     */
+    public void validate(KeyType type, int length, long count) {
+        if (count <= 0 || count > maxCount) {
+            throw new IllegalArgumentException("Count must be between 1 and " + maxCount);
+        }
+        if (!type.fixedLength() && (length <= 0 || length > maxLength)) {
+            throw new IllegalArgumentException("Length must be between 1 and " + maxLength);
+        }
+    }
+
+    /**
+     * Generate {@code count} keys and write them as ASCII lines.
+     *
+     * @param type   Key type
+     * @param length Characters (alphanumeric, hex) or random bytes (base64, url-safe); ignored for uuid, uuid-v7 and ulid
+     * @param count  Number of keys
+     * @param format Line format
+     * @param out    Destination, flushed but not closed
+     * @return Number of keys written
+     * @throws IllegalArgumentException if count or length is out of range
+     * @throws IOException              if writing fails, e.g. the client went away
+     */
+    public long stream(KeyType type, int length, long count, Format format, OutputStream out) throws IOException {
+        validate(type, length, count);
+        Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        long written = 0;
+        try {
+            for (long submitted = 0; submitted < count; submitted += chunkSize) {
+                if (inFlight.size() >= maxInFlight) {
+                    written += write(await(inFlight.poll()), out);
+                }
+                int keys = (int) Math.min(chunkSize, count - submitted);
+                inFlight.add(executor.submit(() -> generateChunk(type, length, keys, format)));
+            }
+            while (!inFlight.isEmpty()) {
+                written += write(await(inFlight.poll()), out);
+            }
+            out.flush();
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs on the batch pool: one chunk of keys, already encoded as bytes.
+     */
+    private static Chunk generateChunk(KeyType type, int length, int keys, Format format) {
+        int keyChars = encodedLength(type, length);
+        int lineChars = keyChars + 1 + (format == Format.NDJSON ? NDJSON_PREFIX.length + NDJSON_SUFFIX.length : 0);
+        char[] chars = new char[lineChars * keys];
+        // Alphabet keys for the whole chunk come from one bulk draw
+        char[] alphabetKeys = null;
+        if (type == KeyType.ALPHANUMERIC) {
+            alphabetKeys = new char[keyChars * keys];
+            KeyGeneratorUtils.fillAlphanumeric(alphabetKeys, 0, alphabetKeys.length);
+        } else if (type == KeyType.HEX) {
+            alphabetKeys = new char[keyChars * keys];
+            KeyGeneratorUtils.fillHex(alphabetKeys, 0, alphabetKeys.length);
+        }
+
+        int pos = 0;
+        for (int i = 0; i < keys; i++) {
+            if (format == Format.NDJSON) {
+                System.arraycopy(NDJSON_PREFIX, 0, chars, pos, NDJSON_PREFIX.length);
+                pos += NDJSON_PREFIX.length;
+            }
+            switch (type) {
+                case ALPHANUMERIC, HEX -> System.arraycopy(alphabetKeys, i * keyChars, chars, pos, keyChars);
+                case BASE64 -> KeyGeneratorUtils.generateBase64Key(length).getChars(0, keyChars, chars, pos);
+                case URL_SAFE -> KeyGeneratorUtils.generateUrlSafeKey(length).getChars(0, keyChars, chars, pos);
+                // Inline, not from the pre-generated pool /api/keys/uuid relies on
+                case UUID -> KeyGeneratorUtils.fillUuid(chars, pos);
+                case UUID_V7 -> KeyGeneratorUtils.fillUuidV7(chars, pos);
+                case ULID -> KeyGeneratorUtils.fillUlid(chars, pos);
+            }
+            pos += keyChars;
+            if (format == Format.NDJSON) {
+                System.arraycopy(NDJSON_SUFFIX, 0, chars, pos, NDJSON_SUFFIX.length);
+                pos += NDJSON_SUFFIX.length;
+            }
+            chars[pos++] = '\n';
+        }
+
+        // Every alphabet is ASCII
+        byte[] bytes = new byte[chars.length];
+        for (int i = 0; i < chars.length; i++) {
+            bytes[i] = (byte) chars[i];
+        }
+        return new Chunk(keys, bytes);
+    }
+
+    private static int encodedLength(KeyType type, int length) {
+        return switch (type) {
+            case ALPHANUMERIC, HEX -> length;
+            case BASE64 -> 4 * ((length + 2) / 3);
+            case URL_SAFE -> (4 * length + 2) / 3;
+            case UUID -> 32;
+            case UUID_V7 -> TimeOrderedIdGenerator.UUID_LENGTH;
+            case ULID -> TimeOrderedIdGenerator.ULID_LENGTH;
+        };
+    }
+
+    private static int write(Chunk chunk, OutputStream out) throws IOException {
+        out.write(chunk.bytes());
+        return chunk.keys();
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating keys", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Key generation failed", e.getCause());
+        }
+    }
+}
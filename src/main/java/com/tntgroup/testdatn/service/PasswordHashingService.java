@@ -0,0 +1,246 @@
+package com.tntgroup.testdatn.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.tntgroup.testdatn.exception.ServerBusyException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs password hashing on a dedicated pool sized to the CPU count.
+ * The queue in front of the pool is bounded: when it is full the call fails
+ * fast with {@link ServerBusyException} instead of tying up request threads.
+ * The async variants share the pool and queue, for callers that must not
+ * block (the reactive auth API).
+ * Bulk work (user import) does not use the pool or its queue: it hashes on
+ * the caller's thread, at most bulk-threads at a time, so a large import
+ * neither sheds logins with 503s nor takes more than its share of the CPU.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Semaphore bulkPermits;
+
+    private final Timer encodeQueueWait;
+    private final Timer matchesQueueWait;
+    private final Timer encodeTime;
+    private final Timer matchesTime;
+    private final Timer bulkWait;
+    private final Timer bulkTime;
+
+    @Autowired
+    public PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+            @Value("${password.hashing.threads:0}") int threads,
+            @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${password.hashing.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${password.hashing.bulk-threads:0}") int bulkThreads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.bulkPermits = new Semaphore(bulkThreads > 0 ? bulkThreads : Math.max(1, poolSize / 2));
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeQueueWait = queueWaitTimer(meterRegistry, "encode");
+        this.matchesQueueWait = queueWaitTimer(meterRegistry, "matches");
+        this.encodeTime = hashTimer(meterRegistry, "encode");
+        this.matchesTime = hashTimer(meterRegistry, "matches");
+        this.bulkWait = queueWaitTimer(meterRegistry, "bulk-encode");
+        this.bulkTime = hashTimer(meterRegistry, "bulk-encode");
+        Gauge.builder("password.hash.queue.size", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+            int threads, int queueCapacity, long retryAfterSeconds) {
+        this(passwordEncoder, meterRegistry, threads, queueCapacity, retryAfterSeconds, 0);
+    }
+
+    /**
+     * Hash a raw password on the hashing pool.
+     *
+     * @param rawPassword Password to hash
+     * @return Encoded password
+     * @throws ServerBusyException if the hashing queue is full
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword), encodeQueueWait, encodeTime);
+    }
+
+    /**
+     * Check a raw password against a stored hash on the hashing pool.
+     *
+     * @param rawPassword     Password to check
+     * @param encodedPassword Stored hash
+     * @return true if they match
+     * @throws ServerBusyException if the hashing queue is full
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword), matchesQueueWait, matchesTime);
+    }
+
+    /**
+     * Hash a raw password on the hashing pool without blocking the caller.
+     *
+     * @param rawPassword Password to hash
+     * @return Encoded password, completed on a hashing thread; fails with
+     *         {@link ServerBusyException} if the hashing queue is full
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return runAsync(() -> passwordEncoder.encode(rawPassword), encodeQueueWait, encodeTime);
+    }
+
+    /**
+     * Check a raw password against a stored hash without blocking the caller.
+     *
+     * @param rawPassword     Password to check
+     * @param encodedPassword Stored hash
+     * @return Whether they match, completed on a hashing thread; fails with
+     *         {@link ServerBusyException} if the hashing queue is full
+     */
+    public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+        return runAsync(() -> passwordEncoder.matches(rawPassword, encodedPassword), matchesQueueWait, matchesTime);
+    }
+
+    /**
+     * Hash a raw password for a bulk job on the calling thread, waiting for
+     * one of the bulk-threads permits first. Never sheds: a busy server makes
+     * the import slower, not failed.
+     *
+     * @param rawPassword Password to hash
+     * @return Encoded password
+     */
+    public String encodeBulk(CharSequence rawPassword) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            bulkPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to hash password", e);
+        }
+        long startedAt = System.nanoTime();
+        bulkWait.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+            return passwordEncoder.encode(rawPassword);
+        } finally {
+            bulkPermits.release();
+            bulkTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Whether a stored hash should be re-encoded, e.g. because it was made at
+     * a lower BCrypt cost. Cheap; runs on the calling thread.
+     *
+     * @param encodedPassword Stored hash
+     * @return true if the hash should be replaced
+     */
+    public boolean needsUpgrade(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task, Timer queueWait, Timer hashTime) {
+        Future<T> future;
+        try {
+            future = executor.submit(timed(task, queueWait, hashTime));
+        } catch (RejectedExecutionException e) {
+            throw serverBusy();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private <T> CompletableFuture<T> runAsync(Callable<T> task, Timer queueWait, Timer hashTime) {
+        Callable<T> timedTask = timed(task, queueWait, hashTime);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(timedTask.call());
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(serverBusy());
+        }
+        return result;
+    }
+
+    private static <T> Callable<T> timed(Callable<T> task, Timer queueWait, Timer hashTime) {
+        long enqueuedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            queueWait.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                return task.call();
+            } finally {
+                hashTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private ServerBusyException serverBusy() {
+        return new ServerBusyException("Server is busy, please retry later", retryAfterSeconds);
+    }
+
+    private static Timer queueWaitTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("password.hash.queue.wait")
+                .description("Time password hashing tasks spend queued")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("password.hash.duration")
+                .description("Time spent hashing passwords")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,160 @@
+package com.tntgroup.testdatn.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.tntgroup.testdatn.dto.AuthResponse;
+import com.tntgroup.testdatn.dto.LoginRequest;
+import com.tntgroup.testdatn.dto.RegisterRequest;
+import com.tntgroup.testdatn.exception.ServerBusyException;
+import com.tntgroup.testdatn.repository.ReactiveUserRepository;
+import com.tntgroup.testdatn.repository.UserCredentials;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking login/register for the reactive stack.
+ * Same rules and responses as {@link AuthService}: database calls go through
+ * R2DBC, BCrypt runs on the bounded {@link PasswordHashingService} pool, and
+ * no event-loop thread ever waits on either.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveAuthService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAuthService.class);
+
+    private static final String REGISTER = "register";
+    private static final String LOGIN = "login";
+
+    private final ReactiveUserRepository userRepository;
+    private final JwtService jwtService;
+    private final PasswordHashingService passwordHashingService;
+    private final CredentialCache credentialCache;
+    private final AuthMetrics authMetrics;
+    private final AuthService authService;
+
+    /**
+     * A rejected login or registration; the message is returned to the client.
+     */
+    private static final class AuthFailure extends RuntimeException {
+
+        private final String outcome;
+
+        AuthFailure(String outcome, String message) {
+            super(message, null, false, false);
+            this.outcome = outcome;
+        }
+    }
+
+    public Mono<AuthResponse> register(RegisterRequest request) {
+        return timed(REGISTER, Mono.defer(() -> {
+            try {
+                AuthService.validateRegistration(request.getUsername(), request.getEmail(), request.getPassword());
+            } catch (RuntimeException e) {
+                return Mono.error(new AuthFailure("invalid_input", e.getMessage()));
+            }
+
+            // Single insert; the unique constraints reject duplicates in the same round-trip
+            return offHashingPool(() -> passwordHashingService.encodeAsync(request.getPassword()))
+                    .flatMap(hash -> userRepository.insert(request.getUsername(), request.getEmail(), hash))
+                    .onErrorMap(DataIntegrityViolationException.class, ReactiveAuthService::duplicateUserError)
+                    .map(id -> {
+                        // No entity listener here: drop any cached "unknown user" entry ourselves
+                        credentialCache.invalidate(id, request.getUsername());
+                        return AuthResponse.builder()
+                                .token(jwtService.generateToken(request.getUsername()))
+                                .username(request.getUsername())
+                                .message("Registration successful")
+                                .build();
+                    });
+        }));
+    }
+
+    public Mono<AuthResponse> login(LoginRequest request) {
+        return timed(LOGIN, Mono.fromCompletionStage(() -> credentialCache.getAsync(request.getUsername(),
+                username -> userRepository.findCredentialsByUsername(username)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .toFuture()))
+                .flatMap(found -> {
+                    if (found.isEmpty()) {
+                        return Mono.error(new AuthFailure("unknown_user", "User not found"));
+                    }
+                    UserCredentials user = found.get();
+                    return offHashingPool(() -> passwordHashingService.matchesAsync(request.getPassword(),
+                            user.passwordHash()))
+                            .flatMap(matches -> matches
+                                    ? upgradePasswordHash(user, request.getPassword())
+                                    : Mono.error(new AuthFailure("bad_password", "Invalid password")))
+                            .then(Mono.fromCallable(() -> AuthResponse.builder()
+                                    .token(jwtService.generateToken(user.username(), user.role()))
+                                    .username(user.username())
+                                    .message("Login successful")
+                                    .build()));
+                }));
+    }
+
+    /**
+     * Revocation is in memory, so the blocking service's logout never waits.
+     */
+    public Mono<Void> logout(String token) {
+        return Mono.fromRunnable(() -> authService.logout(token));
+    }
+
+    private Mono<Void> upgradePasswordHash(UserCredentials credentials, String rawPassword) {
+        if (!passwordHashingService.needsUpgrade(credentials.passwordHash())) {
+            return Mono.empty();
+        }
+        return offHashingPool(() -> passwordHashingService.encodeAsync(rawPassword))
+                .flatMap(upgraded -> userRepository.updatePassword(credentials.id(), upgraded, LocalDateTime.now()))
+                .doOnSuccess(updated -> credentialCache.invalidate(credentials.id(), credentials.username()))
+                .then()
+                .onErrorResume(ServerBusyException.class, e -> {
+                    // Login already succeeded; upgrade on a quieter attempt
+                    log.debug("Skipped password rehash for {}: hashing pool busy", credentials.username());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Await a hashing-pool future, then continue on a parallel worker so the
+     * pool's few threads only ever run BCrypt.
+     */
+    private static <T> Mono<T> offHashingPool(Supplier<CompletableFuture<T>> hashing) {
+        return Mono.fromFuture(hashing).publishOn(Schedulers.parallel());
+    }
+
+    private static RuntimeException duplicateUserError(DataIntegrityViolationException e) {
+        // No blocking exists-queries here: an unnamed constraint gets the generic message
+        return new AuthFailure("duplicate", AuthService.duplicateUserError(e).getMessage());
+    }
+
+    private <T> Mono<T> timed(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = authMetrics.start();
+            return call
+                    .doOnSuccess(result -> authMetrics.stop(sample, operation, AuthMetrics.SUCCESS))
+                    .doOnError(e -> authMetrics.stop(sample, operation, outcome(e)));
+        });
+    }
+
+    private static String outcome(Throwable error) {
+        if (error instanceof AuthFailure failure) {
+            return failure.outcome;
+        }
+        return error instanceof ServerBusyException ? "busy" : "error";
+    }
+}
@@ -0,0 +1,90 @@
+package com.tntgroup.testdatn.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tntgroup.testdatn.dto.UserResponse;
+import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.utils.FormatUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Streams the users table as NDJSON without loading it.
+ * Rows come from a forward-only, read-only cursor; each entity is detached
+ * once written, so the persistence context never holds more than one user.
+ */
+@Service
+public class UserExportService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonMapper jsonMapper;
+    private final int fetchSize;
+
+    public UserExportService(PlatformTransactionManager transactionManager, JsonMapper jsonMapper,
+            @Value("${users.export.fetch-size:1000}") int fetchSize) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonMapper = jsonMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Write every user as one JSON line; passwords are never included.
+     *
+     * @param out       Destination, flushed but not closed
+     * @param maskEmail Whether to mask emails with {@link FormatUtils#maskEmail}
+     * @return Number of users written
+     */
+    public long export(OutputStream out, boolean maskEmail) {
+        return readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<User> users = entityManager.createQuery("select u from User u order by u.id", User.class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream();
+                    SequenceWriter writer = jsonMapper.writer()
+                            .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                            .withRootValueSeparator("\n")
+                            .writeValues(out)) {
+                for (Iterator<User> it = users.iterator(); it.hasNext();) {
+                    User user = it.next();
+                    writer.write(toRow(user, maskEmail));
+                    entityManager.detach(user);
+                    count++;
+                }
+                writer.flush();
+                if (count > 0) {
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException("Export aborted", e);
+            }
+            return count;
+        });
+    }
+
+    private static UserResponse toRow(User user, boolean maskEmail) {
+        UserResponse row = UserResponse.of(user);
+        if (maskEmail) {
+            row.setEmail(FormatUtils.maskEmail(row.getEmail()));
+        }
+        return row;
+    }
+}
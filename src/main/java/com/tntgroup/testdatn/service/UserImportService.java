@@ -0,0 +1,417 @@
+package com.tntgroup.testdatn.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tntgroup.testdatn.dto.ImportSummary;
+import com.tntgroup.testdatn.dto.UserImportRow;
+import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.repository.UserBatchRepository;
+import com.tntgroup.testdatn.repository.UserRepository;
+import com.tntgroup.testdatn.utils.ValidationUtils;
+
+import jakarta.annotation.PreDestroy;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Streams users from CSV or NDJSON into the database.
+ * Input is cut into batches; a dedicated pool parses, validates and hashes
+ * batches in parallel while the calling thread writes finished batches in
+ * input order. At most max-in-flight batches exist at once, so memory stays
+ * flat whatever the input size. Passwords are hashed through
+ * {@link PasswordHashingService#encodeBulk}, which caps how many import
+ * threads run BCrypt at once. A checkpoint is reported after every batch:
+ * running the import again with skip set to the last checkpoint resumes it.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    // The driver's message may echo other rows' data: it goes to the log, not the report
+    private static final String ROW_REJECTED = "Row rejected by the database";
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    /**
+     * Receives progress on the importing thread.
+     */
+    public interface Listener {
+
+        void rowFailed(long row, String username, String error);
+
+        /**
+         * Every row up to and including {@code rows} has been imported or rejected.
+         */
+        void checkpoint(long rows);
+    }
+
+    private record Row(long number, String username, User user, String error) {
+    }
+
+    private record Batch(long lastRow, List<Row> rows) {
+    }
+
+    private final UserRepository userRepository;
+    private final UserBatchRepository userBatchRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final CredentialCache credentialCache;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final ThreadPoolExecutor executor;
+    private final int batchSize;
+    private final int maxInFlight;
+
+    public UserImportService(UserRepository userRepository, UserBatchRepository userBatchRepository,
+            PasswordHashingService passwordHashingService, CredentialCache credentialCache,
+            PlatformTransactionManager transactionManager, JsonMapper jsonMapper,
+            @Value("${users.import.threads:0}") int threads,
+            @Value("${users.import.batch-size:500}") int batchSize,
+            @Value("${users.import.max-in-flight-batches:0}") int maxInFlight) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.userRepository = userRepository;
+        this.userBatchRepository = userBatchRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.credentialCache = credentialCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : 2 * poolSize;
+        // Unbounded queue: each import caps its own submissions at maxInFlight
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Import users until the input is exhausted.
+     *
+     * @param input    CSV (with a header line) or NDJSON rows; blank lines are ignored
+     * @param format   Input format
+     * @param skip     Number of rows to skip, i.e. the last checkpoint of an earlier run
+     * @param listener Receives row errors and checkpoints
+     * @return Counts and throughput for this run
+     * @throws IllegalArgumentException if the CSV header lacks a required column
+     * @throws IOException              if reading the input fails
+     */
+    public ImportSummary importUsers(Reader input, Format format, long skip, Listener listener) throws IOException {
+        long started = System.nanoTime();
+        BufferedReader reader = input instanceof BufferedReader buffered ? buffered : new BufferedReader(input);
+        ImportRun run = new ImportRun(format, format == Format.CSV ? csvColumns(reader.readLine()) : null, listener);
+        long total = run.readAll(reader, skip);
+
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        long rows = Math.max(total - skip, 0);
+        ImportSummary summary = ImportSummary.builder()
+                .rows(rows)
+                .imported(run.imported)
+                .failed(run.failed)
+                .skipped(total - rows)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos)
+                .build();
+        log.info("Imported {} of {} rows ({} failed, {} skipped) in {} ms: {} rows/s", summary.getImported(),
+                rows, summary.getFailed(), summary.getSkipped(), summary.getElapsedMs(), summary.getRowsPerSecond());
+        return summary;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * State of one import; only touched by the importing thread.
+     */
+    private final class ImportRun {
+
+        private final Format format;
+        private final Map<String, Integer> columns;
+        private final Listener listener;
+        private final Deque<Future<Batch>> inFlight = new ArrayDeque<>();
+        private final List<Row> rejected = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private ImportRun(Format format, Map<String, Integer> columns, Listener listener) {
+            this.format = format;
+            this.columns = columns;
+            this.listener = listener;
+        }
+
+        long readAll(BufferedReader reader, long skip) throws IOException {
+            long row = 0;
+            try {
+                List<String> lines = new ArrayList<>(batchSize);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || ++row <= skip) {
+                        continue;
+                    }
+                    lines.add(line);
+                    if (lines.size() == batchSize) {
+                        submit(row, lines);
+                        lines = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!lines.isEmpty()) {
+                    submit(row, lines);
+                }
+                while (!inFlight.isEmpty()) {
+                    write(await(inFlight.poll()));
+                }
+            } finally {
+                inFlight.forEach(future -> future.cancel(true));
+            }
+            return row;
+        }
+
+        private void submit(long lastRow, List<String> lines) {
+            if (inFlight.size() >= maxInFlight) {
+                write(await(inFlight.poll()));
+            }
+            inFlight.add(executor.submit(() -> prepare(lastRow, lines)));
+        }
+
+        /**
+         * Runs on the import pool: parse, validate and hash every row.
+         */
+        private Batch prepare(long lastRow, List<String> lines) {
+            List<Row> rows = new ArrayList<>(lines.size());
+            long number = lastRow - lines.size();
+            for (String line : lines) {
+                number++;
+                UserImportRow input = null;
+                try {
+                    input = parse(line);
+                    rows.add(new Row(number, input.getUsername(), toUser(input), null));
+                } catch (RuntimeException e) {
+                    rows.add(new Row(number, input == null ? null : input.getUsername(), null, e.getMessage()));
+                }
+            }
+            return new Batch(lastRow, rows);
+        }
+
+        private UserImportRow parse(String line) {
+            if (format == Format.NDJSON) {
+                try {
+                    return jsonMapper.readValue(line, UserImportRow.class);
+                } catch (JacksonException e) {
+                    throw new IllegalArgumentException("Malformed JSON");
+                }
+            }
+            List<String> fields = splitCsv(line);
+            UserImportRow row = new UserImportRow();
+            row.setUsername(field(fields, "username"));
+            row.setEmail(field(fields, "email"));
+            row.setPassword(field(fields, "password"));
+            row.setPhoneNumber(field(fields, "phonenumber"));
+            String age = field(fields, "age");
+            if (age != null && !age.isBlank()) {
+                try {
+                    row.setAge(Integer.valueOf(age.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid age");
+                }
+            }
+            return row;
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            return index == null || index >= fields.size() ? null : fields.get(index);
+        }
+
+        /**
+         * Runs on the importing thread, one batch at a time in input order.
+         */
+        private void write(Batch batch) {
+            Set<String> usernames = new HashSet<>();
+            Set<String> emails = new HashSet<>();
+            List<Row> candidates = new ArrayList<>(batch.rows().size());
+            for (Row row : batch.rows()) {
+                if (row.error() != null) {
+                    fail(row, row.error());
+                } else if (usernames.contains(row.user().getUsername())) {
+                    fail(row, "Username already exists");
+                } else if (emails.contains(row.user().getEmail())) {
+                    fail(row, "Email already exists");
+                } else {
+                    usernames.add(row.user().getUsername());
+                    emails.add(row.user().getEmail());
+                    candidates.add(row);
+                }
+            }
+
+            if (!candidates.isEmpty()) {
+                Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(usernames));
+                Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(emails));
+                List<Row> fresh = new ArrayList<>(candidates.size());
+                for (Row row : candidates) {
+                    if (takenUsernames.contains(row.user().getUsername())) {
+                        fail(row, "Username already exists");
+                    } else if (takenEmails.contains(row.user().getEmail())) {
+                        fail(row, "Email already exists");
+                    } else {
+                        fresh.add(row);
+                    }
+                }
+                insert(fresh);
+            }
+
+            rejected.sort(Comparator.comparingLong(Row::number));
+            rejected.forEach(row -> listener.rowFailed(row.number(), row.username(), row.error()));
+            rejected.clear();
+            listener.checkpoint(batch.lastRow());
+        }
+
+        private void insert(List<Row> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            List<User> users = rows.stream().map(Row::user).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> userBatchRepository.insertAll(users));
+                imported += users.size();
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent writer took a name after the pre-check; retry row by row to find it
+                for (Row row : rows) {
+                    try {
+                        userBatchRepository.insertAll(List.of(row.user()));
+                        imported++;
+                    } catch (DataIntegrityViolationException rowError) {
+                        String duplicate = AuthService.duplicateUserMessage(rowError);
+                        if (duplicate == null) {
+                            log.warn("Import row {} rejected by the database", row.number(), rowError);
+                        }
+                        fail(row, duplicate != null ? duplicate : ROW_REJECTED);
+                    }
+                }
+            }
+            // Inserts bypass the entity listener: drop any cached "unknown user" entries
+            users.forEach(user -> credentialCache.invalidate(null, user.getUsername()));
+        }
+
+        private void fail(Row row, String error) {
+            failed++;
+            rejected.add(new Row(row.number(), row.username(), null, error));
+        }
+    }
+
+    private User toUser(UserImportRow row) {
+        AuthService.validateRegistration(row.getUsername(), row.getEmail(), row.getPassword());
+        if (row.getPhoneNumber() != null && !row.getPhoneNumber().isBlank()
+                && !ValidationUtils.isValidPhoneNumber(row.getPhoneNumber())) {
+            throw new IllegalArgumentException("Invalid phone number");
+        }
+        if (row.getAge() != null && !ValidationUtils.isValidAge(row.getAge())) {
+            throw new IllegalArgumentException("Age must be between 1 and 150");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User();
+        user.setUsername(row.getUsername());
+        user.setEmail(row.getEmail());
+        user.setPassword(passwordHashingService.encodeBulk(row.getPassword()));
+        user.setPhoneNumber(row.getPhoneNumber() == null || row.getPhoneNumber().isBlank()
+                ? null : row.getPhoneNumber().trim());
+        user.setAge(row.getAge());
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    private static Batch await(Future<Batch> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Import batch failed", e.getCause());
+        }
+    }
+
+    private static Map<String, Integer> csvColumns(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input needs a header line");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(List.of("username", "email", "password"))) {
+            throw new IllegalArgumentException("CSV header must contain username, email and password");
+        }
+        return columns;
+    }
+
+    /**
+     * Split one CSV record; quoted fields may contain commas and doubled quotes.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
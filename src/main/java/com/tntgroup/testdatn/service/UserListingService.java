@@ -0,0 +1,84 @@
+package com.tntgroup.testdatn.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.tntgroup.testdatn.dto.UserPage;
+import com.tntgroup.testdatn.dto.UserResponse;
+import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keyset pagination over users in (createdAt, id) order.
+ * The cursor is the position of the last user on the previous page, encoded
+ * so clients treat it as opaque. Each page seeks straight to that position
+ * through idx_users_created_at_id instead of counting past an OFFSET, so
+ * page 10,000 costs the same as page 1.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserListingService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final char SEPARATOR = '/';
+
+    private final UserRepository userRepository;
+
+    /**
+     * Fetch one page of users.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param size   Page size (1-100)
+     * @return Users and the cursor of the following page
+     * @throws IllegalArgumentException if the size is out of range or the cursor is invalid
+     */
+    public UserPage list(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // One extra row tells whether another page exists
+        Limit limit = Limit.of(size + 1);
+        List<User> users;
+        if (cursor == null || cursor.isEmpty()) {
+            users = userRepository.findFirstPage(limit);
+        } else {
+            User after = decode(cursor);
+            users = userRepository.findPageAfter(after.getCreatedAt(), after.getId(), limit);
+        }
+
+        boolean hasMore = users.size() > size;
+        List<User> page = hasMore ? users.subList(0, size) : users;
+        return UserPage.builder()
+                .users(page.stream().map(UserResponse::of).toList())
+                .nextCursor(hasMore ? encode(page.get(size - 1)) : null)
+                .build();
+    }
+
+    private static String encode(User last) {
+        String position = last.getCreatedAt().toString() + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static User decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(SEPARATOR);
+            User after = new User();
+            after.setCreatedAt(LocalDateTime.parse(position.substring(0, separator)));
+            after.setId(Long.parseLong(position.substring(separator + 1)));
+            return after;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,12 +1,36 @@
 package com.tntgroup.testdatn.utils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
 /**
  * Utility class for string formatting and transformation.
  * Pure functions for text manipulation.
  * Perfect for automated testing with TestFlow!
+ * <p>
+ * The transformations scan their input once and write straight into the
+ * output; none of them uses a regex.
+ * <p>
+ * Every transformation also has overloads that read a {@link CharSequence}
+ * or a UTF-8 byte slice and append the result to a caller's
+ * {@link StringBuilder} or {@link Appendable}, so streaming code can format
+ * fields in place without building intermediate Strings. They append
+ * exactly what the String version returns; a null input appends what the
+ * String version returns for null.
  */
 public final class FormatUtils {
 
+    /**
+     * One of the (CharSequence, Appendable) transformations, for the
+     * StringBuilder and byte overloads.
+     */
+    @FunctionalInterface
+    private interface Transformation {
+        void apply(CharSequence text, Appendable out) throws IOException;
+    }
+
     // Prevent instantiation
     private FormatUtils() {
     }
@@ -21,22 +45,8 @@ public final class FormatUtils {
         if (phone == null || phone.isBlank()) {
             return "";
         }
-
-        // Remove all non-digits
-        String digits = phone.replaceAll("\\D", "");
-
-        if (digits.length() < 10) {
-            return digits;
-        }
-
-        // Format: 0xxx-xxx-xxx or 0xxx-xxx-xxxx
-        if (digits.length() == 10) {
-            return digits.substring(0, 4) + "-" + digits.substring(4, 7) + "-" + digits.substring(7);
-        } else if (digits.length() == 11) {
-            return digits.substring(0, 4) + "-" + digits.substring(4, 7) + "-" + digits.substring(7);
-        }
-
-        return digits;
+        // Format: 0xxx-xxx-xxx or 0xxx-xxx-xxxx; other lengths are digits only
+        return formatPhoneNumber(phone, new StringBuilder(phone.length() + 2)).toString();
     }
 
     /**
@@ -46,17 +56,7 @@ public final class FormatUtils {
      * @return Masked card (e.g., "**** **** **** 1234")
      */
     public static String maskCreditCard(String cardNumber) {
-        if (cardNumber == null || cardNumber.length() < 4) {
-            return "****";
-        }
-
-        String digits = cardNumber.replaceAll("\\D", "");
-        if (digits.length() < 4) {
-            return "****";
-        }
-
-        String lastFour = digits.substring(digits.length() - 4);
-        return "**** **** **** " + lastFour;
+        return maskCreditCard(cardNumber, new StringBuilder(19)).toString();
     }
 
     /**
@@ -95,12 +95,7 @@ public final class FormatUtils {
         if (text == null || text.isBlank()) {
             return "";
         }
-
-        return text.toLowerCase()
-                .trim()
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-+", "-");
+        return toSlug(text, new StringBuilder(text.length())).toString();
     }
 
     /**
@@ -113,23 +108,7 @@ public final class FormatUtils {
         if (text == null || text.isBlank()) {
             return "";
         }
-
-        StringBuilder result = new StringBuilder();
-        boolean capitalizeNext = true;
-
-        for (char c : text.toCharArray()) {
-            if (Character.isWhitespace(c)) {
-                capitalizeNext = true;
-                result.append(c);
-            } else if (capitalizeNext) {
-                result.append(Character.toUpperCase(c));
-                capitalizeNext = false;
-            } else {
-                result.append(Character.toLowerCase(c));
-            }
-        }
-
-        return result.toString();
+        return toTitleCase(text, new StringBuilder(text.length())).toString();
     }
 
     /**
@@ -154,4 +133,322 @@ public final class FormatUtils {
 
         return text.substring(0, maxLength - 3) + "...";
     }
+
+    // ---- CharSequence and UTF-8 overloads ----
+
+    /**
+     * {@link #formatPhoneNumber(String)}, appended to {@code out}.
+     */
+    public static void formatPhoneNumber(CharSequence phone, Appendable out) throws IOException {
+        if (phone == null) {
+            return;
+        }
+        // Dashes depend on the digit count, so count first
+        int digits = 0;
+        for (int i = 0; i < phone.length(); i++) {
+            if (isAsciiDigit(phone.charAt(i))) {
+                digits++;
+            }
+        }
+        boolean dashed = digits == 10 || digits == 11;
+        int written = 0;
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (isAsciiDigit(c)) {
+                if (dashed && (written == 4 || written == 7)) {
+                    out.append('-');
+                }
+                out.append(c);
+                written++;
+            }
+        }
+    }
+
+    public static StringBuilder formatPhoneNumber(CharSequence phone, StringBuilder out) {
+        return appendTo(FormatUtils::formatPhoneNumber, phone, out);
+    }
+
+    /**
+     * {@link #formatPhoneNumber(String)} on UTF-8 bytes, appended to {@code out}.
+     *
+     * @throws IndexOutOfBoundsException if the slice is outside the array
+     */
+    public static void formatPhoneNumber(byte[] utf8, int offset, int length, Appendable out) throws IOException {
+        formatPhoneNumber(Utf8Slices.decode(utf8, offset, length), out);
+    }
+
+    /**
+     * {@link #formatPhoneNumber(String)} on UTF-8 bytes at absolute
+     * positions, appended to {@code out}; the buffer's position and limit are
+     * left alone.
+     *
+     * @throws IndexOutOfBoundsException if the slice is outside the buffer's limit
+     */
+    public static void formatPhoneNumber(ByteBuffer utf8, int offset, int length, Appendable out)
+            throws IOException {
+        formatPhoneNumber(Utf8Slices.decode(utf8, offset, length), out);
+    }
+
+    /**
+     * {@link #maskCreditCard(String)}, appended to {@code out}.
+     */
+    public static void maskCreditCard(CharSequence cardNumber, Appendable out) throws IOException {
+        if (cardNumber == null || cardNumber.length() < 4) {
+            out.append("****");
+            return;
+        }
+        // Walk back to the fourth-last digit
+        int start = cardNumber.length();
+        int found = 0;
+        while (start > 0 && found < 4) {
+            if (isAsciiDigit(cardNumber.charAt(--start))) {
+                found++;
+            }
+        }
+        if (found < 4) {
+            out.append("****");
+            return;
+        }
+        out.append("**** **** **** ");
+        for (int i = start; i < cardNumber.length(); i++) {
+            char c = cardNumber.charAt(i);
+            if (isAsciiDigit(c)) {
+                out.append(c);
+            }
+        }
+    }
+
+    public static StringBuilder maskCreditCard(CharSequence cardNumber, StringBuilder out) {
+        return appendTo(FormatUtils::maskCreditCard, cardNumber, out);
+    }
+
+    public static void maskCreditCard(byte[] utf8, int offset, int length, Appendable out) throws IOException {
+        maskCreditCard(Utf8Slices.decode(utf8, offset, length), out);
+    }
+
+    public static void maskCreditCard(ByteBuffer utf8, int offset, int length, Appendable out) throws IOException {
+        maskCreditCard(Utf8Slices.decode(utf8, offset, length), out);
+    }
+
+    /**
+     * {@link #maskEmail(String)}, appended to {@code out}.
+     */
+    public static void maskEmail(CharSequence email, Appendable out) throws IOException {
+        int at = email == null ? -1 : lastIndexOf(email, '@');
+        if (at < 0) {
+            out.append("***");
+            return;
+        }
+        if (at > 0) {
+            out.append(email.charAt(0));
+        }
+        out.append("***");
+        if (at > 1) {
+            out.append(email.charAt(at - 1));
+        }
+        out.append(email, at, email.length());
+    }
+
+    public static StringBuilder maskEmail(CharSequence email, StringBuilder out) {
+        return appendTo(FormatUtils::maskEmail, email, out);
+    }
+
+    public static void maskEmail(byte[] utf8, int offset, int length, Appendable out) throws IOException {
+        maskEmail(Utf8Slices.decode(utf8, offset, length), out);
+    }
+
+    public static void maskEmail(ByteBuffer utf8, int offset, int length, Appendable out) throws IOException {
+        maskEmail(Utf8Slices.decode(utf8, offset, length), out);
+    }
+
+    /**
+     * {@link #toSlug(String)}, appended to {@code out}.
+     * ASCII input is lowercased, trimmed and filtered in one pass; input
+     * with other characters is lowercased as a String first, because
+     * {@link String#toLowerCase()} can turn some of them into ASCII.
+     */
+    public static void toSlug(CharSequence text, Appendable out) throws IOException {
+        if (text == null) {
+            return;
+        }
+        boolean blank = true;
+        boolean ascii = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            char c = text.charAt(i);
+            blank &= Character.isWhitespace(c);
+            ascii = c < 128;
+        }
+        if (blank && ascii) {
+            return;
+        }
+        if (!ascii) {
+            String string = text.toString();
+            if (string.isBlank()) {
+                return;
+            }
+            appendSlug(string.toLowerCase(), false, out);
+            return;
+        }
+        appendSlug(text, true, out);
+    }
+
+    public static StringBuilder toSlug(CharSequence text, StringBuilder out) {
+        return appendTo(FormatUtils::toSlug, text, out);
+    }
+
+    public static void toSlug(byte[] utf8, int offset, int length, Appendable out) throws IOException {
+        toSlug(Utf8Slices.decode(utf8, offset, length), out);
+    }
+
+    public static void toSlug(ByteBuffer utf8, int offset, int length, Appendable out) throws IOException {
+        toSlug(Utf8Slices.decode(utf8, offset, length), out);
+    }
+
+    /**
+     * {@link #toTitleCase(String)}, appended to {@code out}.
+     */
+    public static void toTitleCase(CharSequence text, Appendable out) throws IOException {
+        if (text == null || isBlank(text)) {
+            return;
+        }
+        boolean capitalizeNext = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                capitalizeNext = true;
+                out.append(c);
+            } else if (capitalizeNext) {
+                out.append(Character.toUpperCase(c));
+                capitalizeNext = false;
+            } else {
+                out.append(Character.toLowerCase(c));
+            }
+        }
+    }
+
+    public static StringBuilder toTitleCase(CharSequence text, StringBuilder out) {
+        return appendTo(FormatUtils::toTitleCase, text, out);
+    }
+
+    public static void toTitleCase(byte[] utf8, int offset, int length, Appendable out) throws IOException {
+        toTitleCase(Utf8Slices.decode(utf8, offset, length), out);
+    }
+
+    public static void toTitleCase(ByteBuffer utf8, int offset, int length, Appendable out) throws IOException {
+        toTitleCase(Utf8Slices.decode(utf8, offset, length), out);
+    }
+
+    /**
+     * {@link #truncate(String, int)}, appended to {@code out}.
+     */
+    public static void truncate(CharSequence text, int maxLength, Appendable out) throws IOException {
+        if (text == null || maxLength <= 0) {
+            return;
+        }
+        if (text.length() <= maxLength) {
+            out.append(text);
+        } else if (maxLength <= 3) {
+            out.append(text, 0, maxLength);
+        } else {
+            out.append(text, 0, maxLength - 3).append("...");
+        }
+    }
+
+    public static StringBuilder truncate(CharSequence text, int maxLength, StringBuilder out) {
+        try {
+            truncate(text, maxLength, (Appendable) out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    public static void truncate(byte[] utf8, int offset, int length, int maxLength, Appendable out)
+            throws IOException {
+        truncate(Utf8Slices.decode(utf8, offset, length), maxLength, out);
+    }
+
+    public static void truncate(ByteBuffer utf8, int offset, int length, int maxLength, Appendable out)
+            throws IOException {
+        truncate(Utf8Slices.decode(utf8, offset, length), maxLength, out);
+    }
+
+    /**
+     * Trim, drop everything but [a-z0-9], whitespace and '-', and write each
+     * run of whitespace and dashes as one '-'.
+     *
+     * @param lowercase Map A-Z to a-z on the way (the input is ASCII)
+     */
+    private static void appendSlug(CharSequence text, boolean lowercase, Appendable out) throws IOException {
+        // Turkish and Azerbaijani lowercase 'I' to a dotless i, which the filter drops
+        boolean dropUpperI = lowercase && isDotlessILocale();
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        boolean pendingDash = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (lowercase && c >= 'A' && c <= 'Z') {
+                if (c == 'I' && dropUpperI) {
+                    continue;
+                }
+                c = (char) (c + ('a' - 'A'));
+            }
+            if ((c >= 'a' && c <= 'z') || isAsciiDigit(c)) {
+                if (pendingDash) {
+                    out.append('-');
+                    pendingDash = false;
+                }
+                out.append(c);
+            } else if (c == '-' || c == ' ' || (c >= '\t' && c <= '\r')) {
+                pendingDash = true;
+            }
+        }
+        if (pendingDash) {
+            out.append('-');
+        }
+    }
+
+    private static boolean isDotlessILocale() {
+        String language = Locale.getDefault().getLanguage();
+        return language.equals("tr") || language.equals("az");
+    }
+
+    private static StringBuilder appendTo(Transformation transformation, CharSequence text, StringBuilder out) {
+        try {
+            transformation.apply(text, out);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    private static boolean isBlank(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lastIndexOf(CharSequence text, char c) {
+        for (int i = text.length() - 1; i >= 0; i--) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
 }
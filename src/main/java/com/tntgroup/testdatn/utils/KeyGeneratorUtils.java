@@ -1,23 +1,141 @@
 package com.tntgroup.testdatn.utils;
 
-import java.security.SecureRandom;
+import java.time.Clock;
 import java.util.Base64;
-import java.util.UUID;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
 /**
  * Utility class for generating random keys and tokens.
- * Uses cryptographically secure random number generator.
+ * Uses cryptographically secure random number generators from a
+ * {@link SecureRandomPool}, so parallel requests do not queue on one instance.
  */
 public final class KeyGeneratorUtils {
 
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
-    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-    private static final String HEX_CHARS = "0123456789abcdef";
+    private static final char[] ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789"
+            .toCharArray();
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+    // Both hex digits of every byte value: HEX_PAIRS[2 * b] and HEX_PAIRS[2 * b + 1]
+    private static final char[] HEX_PAIRS = new char[512];
+
+    static {
+        for (int b = 0; b < 256; b++) {
+            HEX_PAIRS[2 * b] = HEX_CHARS[b >>> 4];
+            HEX_PAIRS[2 * b + 1] = HEX_CHARS[b & 0x0f];
+        }
+    }
+
+    private static final List<GeneratorMetrics> ALL_METRICS = new CopyOnWriteArrayList<>();
+    private static final GeneratorMetrics ALPHANUMERIC_METRICS = new GeneratorMetrics("alphanumeric");
+    private static final GeneratorMetrics HEX_METRICS = new GeneratorMetrics("hex");
+    private static final GeneratorMetrics BASE64_METRICS = new GeneratorMetrics("base64");
+    private static final GeneratorMetrics URL_SAFE_METRICS = new GeneratorMetrics("url_safe");
+    private static final GeneratorMetrics UUID_METRICS = new GeneratorMetrics("uuid");
+    private static final GeneratorMetrics UUID_V7_METRICS = new GeneratorMetrics("uuid_v7");
+    private static final GeneratorMetrics ULID_METRICS = new GeneratorMetrics("ulid");
+    private static final GeneratorMetrics API_KEY_METRICS = new GeneratorMetrics("api_key");
+    private static final GeneratorMetrics WEBHOOK_SECRET_METRICS = new GeneratorMetrics("webhook_secret");
+    private static final GeneratorMetrics SESSION_TOKEN_METRICS = new GeneratorMetrics("session_token");
+
+    /**
+     * Fixed-format keys that can be served from a {@link PregeneratedKeyPool}.
+     */
+    public enum PooledKey {
+        SESSION_TOKEN("session_token"),
+        UUID("uuid");
+
+        private final String type;
+
+        PooledKey(String type) {
+            this.type = type;
+        }
+
+        private String generate() {
+            return this == SESSION_TOKEN ? urlSafeKey(32) : uuidKey();
+        }
+    }
+
+    private static volatile SecureRandomPool randomPool = SecureRandomPool.withDefaults();
+    private static volatile PregeneratedKeyPool sessionTokenPool;
+    private static volatile PregeneratedKeyPool uuidPool;
+    private static volatile TimeOrderedIdGenerator timeOrderedIds = new TimeOrderedIdGenerator(0,
+            KeyGeneratorUtils::nextLong, Clock.systemUTC());
 
     // Prevent instantiation
     private KeyGeneratorUtils() {
     }
 
+    /**
+     * Replace the generators every key is drawn from.
+     * Called once at startup with the configured pool.
+     *
+     * @param pool Pool to use from now on
+     */
+    public static void useRandomPool(SecureRandomPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Random pool cannot be null");
+        }
+        randomPool = pool;
+    }
+
+    /**
+     * Replace the generator behind {@link #generateUuidV7()} and {@link #generateUlid()}.
+     * Called once at startup with the configured node ID.
+     *
+     * @param generator Generator to use from now on
+     */
+    public static void useTimeOrderedIds(TimeOrderedIdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Time-ordered ID generator cannot be null");
+        }
+        timeOrderedIds = generator;
+    }
+
+    /**
+     * Create a pool of pre-generated keys of one type. It is not used until
+     * started and installed with {@link #usePregeneratedPool}.
+     *
+     * @param key             Key type
+     * @param capacity        Keys held at most
+     * @param refillThreshold Refill to capacity once this many keys or fewer are left
+     * @return New, stopped pool
+     */
+    public static PregeneratedKeyPool newPregeneratedPool(PooledKey key, int capacity, int refillThreshold) {
+        return new PregeneratedKeyPool(key.type, key::generate, capacity, refillThreshold);
+    }
+
+    /**
+     * Serve keys of one type from a pool, or inline again with {@code null}.
+     *
+     * @param key  Key type
+     * @param pool Pool made by {@link #newPregeneratedPool} for the same type
+     */
+    public static void usePregeneratedPool(PooledKey key, PregeneratedKeyPool pool) {
+        if (key == PooledKey.SESSION_TOKEN) {
+            sessionTokenPool = pool;
+        } else {
+            uuidPool = pool;
+        }
+    }
+
+    /**
+     * Binder for the keygen.generate timers and keygen.size summaries of
+     * every generator. Until it is bound, keys are generated unmeasured.
+     *
+     * @return Binder to expose as a bean
+     */
+    public static MeterBinder meterBinder() {
+        return registry -> ALL_METRICS.forEach(metrics -> metrics.bindTo(registry));
+    }
+
     /**
      * Generate a random alphanumeric key of specified length.
      *
@@ -26,16 +144,7 @@ public final class KeyGeneratorUtils {
      * @throws IllegalArgumentException if length is not positive
      */
     public static String generateAlphanumericKey(int length) {
-        if (length <= 0) {
-            throw new IllegalArgumentException("Length must be positive");
-        }
-
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            int index = SECURE_RANDOM.nextInt(ALPHANUMERIC.length());
-            sb.append(ALPHANUMERIC.charAt(index));
-        }
-        return sb.toString();
+        return ALPHANUMERIC_METRICS.record(length, () -> alphanumericKey(length));
     }
 
     /**
@@ -46,16 +155,71 @@ public final class KeyGeneratorUtils {
      * @throws IllegalArgumentException if length is not positive
      */
     public static String generateHexKey(int length) {
-        if (length <= 0) {
-            throw new IllegalArgumentException("Length must be positive");
-        }
+        return HEX_METRICS.record(length, () -> hexKey(length));
+    }
 
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            int index = SECURE_RANDOM.nextInt(HEX_CHARS.length());
-            sb.append(HEX_CHARS.charAt(index));
-        }
-        return sb.toString();
+    /**
+     * Write {@code length} random alphanumeric characters into a caller-supplied buffer.
+     *
+     * @param dest   Buffer to write into
+     * @param offset First index to write
+     * @param length Number of characters (must be positive)
+     * @throws IllegalArgumentException if length is not positive
+     * @throws IndexOutOfBoundsException if the range does not fit in dest
+     */
+    public static void fillAlphanumeric(char[] dest, int offset, int length) {
+        checkRange(dest, offset, length);
+        encodeAlphanumeric(dest, offset, length);
+    }
+
+    /**
+     * Write {@code length} random hexadecimal characters into a caller-supplied buffer.
+     *
+     * @param dest   Buffer to write into
+     * @param offset First index to write
+     * @param length Number of characters (must be positive)
+     * @throws IllegalArgumentException if length is not positive
+     * @throws IndexOutOfBoundsException if the range does not fit in dest
+     */
+    public static void fillHex(char[] dest, int offset, int length) {
+        checkRange(dest, offset, length);
+        encodeHex(dest, offset, length);
+    }
+
+    /**
+     * Write a random UUID key (32 hex characters, as {@link #generateUuidKey})
+     * into a caller-supplied buffer. Always generated inline: bulk callers
+     * must not drain the pre-generated pool single requests rely on.
+     *
+     * @param dest   Buffer to write into
+     * @param offset First index to write
+     * @throws IndexOutOfBoundsException if 32 characters do not fit in dest
+     */
+    public static void fillUuid(char[] dest, int offset) {
+        checkRange(dest, offset, 32);
+        encodeUuid(dest, offset);
+    }
+
+    /**
+     * Write a time-ordered UUID (as {@link #generateUuidV7}) into a caller-supplied buffer.
+     *
+     * @param dest   Buffer to write into
+     * @param offset First index to write
+     * @throws IndexOutOfBoundsException if 36 characters do not fit in dest
+     */
+    public static void fillUuidV7(char[] dest, int offset) {
+        timeOrderedIds.fillUuid(dest, offset);
+    }
+
+    /**
+     * Write a ULID (as {@link #generateUlid}) into a caller-supplied buffer.
+     *
+     * @param dest   Buffer to write into
+     * @param offset First index to write
+     * @throws IndexOutOfBoundsException if 26 characters do not fit in dest
+     */
+    public static void fillUlid(char[] dest, int offset) {
+        timeOrderedIds.fillUlid(dest, offset);
     }
 
     /**
@@ -66,13 +230,7 @@ public final class KeyGeneratorUtils {
      * @throws IllegalArgumentException if byteLength is not positive
      */
     public static String generateBase64Key(int byteLength) {
-        if (byteLength <= 0) {
-            throw new IllegalArgumentException("Byte length must be positive");
-        }
-
-        byte[] bytes = new byte[byteLength];
-        SECURE_RANDOM.nextBytes(bytes);
-        return Base64.getEncoder().encodeToString(bytes);
+        return BASE64_METRICS.record(byteLength, () -> base64Key(byteLength));
     }
 
     /**
@@ -83,13 +241,7 @@ public final class KeyGeneratorUtils {
      * @throws IllegalArgumentException if byteLength is not positive
      */
     public static String generateUrlSafeKey(int byteLength) {
-        if (byteLength <= 0) {
-            throw new IllegalArgumentException("Byte length must be positive");
-        }
-
-        byte[] bytes = new byte[byteLength];
-        SECURE_RANDOM.nextBytes(bytes);
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        return URL_SAFE_METRICS.record(byteLength, () -> urlSafeKey(byteLength));
     }
 
     /**
@@ -98,7 +250,36 @@ public final class KeyGeneratorUtils {
      * @return Random UUID string (without hyphens)
      */
     public static String generateUuidKey() {
-        return UUID.randomUUID().toString().replace("-", "");
+        return UUID_METRICS.record(32, () -> pooledOrInline(uuidPool, PooledKey.UUID));
+    }
+
+    /**
+     * Generate a time-ordered UUID (version 7).
+     * Later calls sort after earlier ones, which keeps B-tree inserts at the
+     * right-hand edge when used as a database key.
+     *
+     * @return Canonical UUID string (36 characters, with hyphens)
+     */
+    public static String generateUuidV7() {
+        return UUID_V7_METRICS.record(TimeOrderedIdGenerator.UUID_LENGTH, () -> {
+            char[] chars = new char[TimeOrderedIdGenerator.UUID_LENGTH];
+            timeOrderedIds.fillUuid(chars, 0);
+            return new String(chars);
+        });
+    }
+
+    /**
+     * Generate a ULID: the same time-ordered 128 bits as
+     * {@link #generateUuidV7()}, in Crockford base32.
+     *
+     * @return 26-character ULID
+     */
+    public static String generateUlid() {
+        return ULID_METRICS.record(TimeOrderedIdGenerator.ULID_LENGTH, () -> {
+            char[] chars = new char[TimeOrderedIdGenerator.ULID_LENGTH];
+            timeOrderedIds.fillUlid(chars, 0);
+            return new String(chars);
+        });
     }
 
     /**
@@ -112,14 +293,7 @@ public final class KeyGeneratorUtils {
      *                                  positive
      */
     public static String generateApiKey(String prefix, int keyLength) {
-        if (prefix == null || prefix.isBlank()) {
-            throw new IllegalArgumentException("Prefix cannot be null or empty");
-        }
-        if (keyLength <= 0) {
-            throw new IllegalArgumentException("Key length must be positive");
-        }
-
-        return prefix + "_" + generateAlphanumericKey(keyLength);
+        return API_KEY_METRICS.record(keyLength, () -> apiKey(prefix, keyLength));
     }
 
     /**
@@ -129,7 +303,7 @@ public final class KeyGeneratorUtils {
      * @return 64-character hexadecimal string
      */
     public static String generateWebhookSecret() {
-        return generateHexKey(64);
+        return WEBHOOK_SECRET_METRICS.record(64, () -> hexKey(64));
     }
 
     /**
@@ -139,6 +313,193 @@ public final class KeyGeneratorUtils {
      * @return URL-safe session token
      */
     public static String generateSessionToken() {
-        return generateUrlSafeKey(32);
+        return SESSION_TOKEN_METRICS.record(32, () -> pooledOrInline(sessionTokenPool, PooledKey.SESSION_TOKEN));
+    }
+
+    private static String pooledOrInline(PregeneratedKeyPool pool, PooledKey key) {
+        return pool != null ? pool.take() : key.generate();
+    }
+
+    private static String alphanumericKey(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length must be positive");
+        }
+
+        char[] chars = new char[length];
+        encodeAlphanumeric(chars, 0, length);
+        return new String(chars);
+    }
+
+    private static String hexKey(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length must be positive");
+        }
+
+        char[] chars = new char[length];
+        encodeHex(chars, 0, length);
+        return new String(chars);
+    }
+
+    /**
+     * Rejection sampling over bulk random bytes: the low six bits of a byte
+     * are uniform over 0-63, and the 62 values that index the alphabet are
+     * kept, so each character costs about one byte of entropy and the output
+     * stays exactly uniform.
+     */
+    private static void encodeAlphanumeric(char[] dest, int offset, int length) {
+        // Expected loss is 1 in 32 bytes; the slack makes a refill rare
+        byte[] bytes = new byte[length + (length >>> 4) + 4];
+        nextBytes(bytes);
+        int pos = 0;
+        int end = offset + length;
+        for (int i = offset; i < end;) {
+            if (pos == bytes.length) {
+                nextBytes(bytes);
+                pos = 0;
+            }
+            int value = bytes[pos++] & 0x3f;
+            if (value < ALPHANUMERIC.length) {
+                dest[i++] = ALPHANUMERIC[value];
+            }
+        }
+    }
+
+    /**
+     * Two hex digits per random byte, looked up a byte at a time.
+     */
+    private static void encodeHex(char[] dest, int offset, int length) {
+        byte[] bytes = new byte[(length + 1) >>> 1];
+        nextBytes(bytes);
+        int pairs = length >>> 1;
+        for (int i = 0; i < pairs; i++) {
+            int pair = (bytes[i] & 0xff) << 1;
+            dest[offset + 2 * i] = HEX_PAIRS[pair];
+            dest[offset + 2 * i + 1] = HEX_PAIRS[pair + 1];
+        }
+        if ((length & 1) != 0) {
+            dest[offset + length - 1] = HEX_PAIRS[(bytes[pairs] & 0xff) << 1];
+        }
+    }
+
+    private static void checkRange(char[] dest, int offset, int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length must be positive");
+        }
+        Objects.checkFromIndexSize(offset, length, dest.length);
+    }
+
+    private static String base64Key(int byteLength) {
+        if (byteLength <= 0) {
+            throw new IllegalArgumentException("Byte length must be positive");
+        }
+
+        byte[] bytes = new byte[byteLength];
+        nextBytes(bytes);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private static String urlSafeKey(int byteLength) {
+        if (byteLength <= 0) {
+            throw new IllegalArgumentException("Byte length must be positive");
+        }
+
+        byte[] bytes = new byte[byteLength];
+        nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String uuidKey() {
+        char[] chars = new char[32];
+        encodeUuid(chars, 0);
+        return new String(chars);
+    }
+
+    private static void encodeUuid(char[] dest, int offset) {
+        // Same format as UUID.randomUUID() without hyphens, but drawn from the pool
+        byte[] bytes = new byte[16];
+        nextBytes(bytes);
+        bytes[6] = (byte) ((bytes[6] & 0x0f) | 0x40); // version 4
+        bytes[8] = (byte) ((bytes[8] & 0x3f) | 0x80); // IETF variant
+        for (int i = 0; i < bytes.length; i++) {
+            int pair = (bytes[i] & 0xff) << 1;
+            dest[offset + 2 * i] = HEX_PAIRS[pair];
+            dest[offset + 2 * i + 1] = HEX_PAIRS[pair + 1];
+        }
+    }
+
+    private static String apiKey(String prefix, int keyLength) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix cannot be null or empty");
+        }
+        if (keyLength <= 0) {
+            throw new IllegalArgumentException("Key length must be positive");
+        }
+
+        char[] chars = new char[prefix.length() + 1 + keyLength];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        chars[prefix.length()] = '_';
+        encodeAlphanumeric(chars, prefix.length() + 1, keyLength);
+        return new String(chars);
+    }
+
+    private static void nextBytes(byte[] bytes) {
+        randomPool.nextBytes(bytes);
+    }
+
+    private static long nextLong() {
+        return randomPool.nextLong();
+    }
+
+    /**
+     * Timers and size summary for one generator. Nothing is recorded until
+     * {@link KeyGeneratorUtils#meterBinder()} is bound to a registry.
+     */
+    private static final class GeneratorMetrics {
+
+        private final String type;
+        private volatile Timer success;
+        private volatile Timer failure;
+        private volatile DistributionSummary size;
+
+        GeneratorMetrics(String type) {
+            this.type = type;
+            ALL_METRICS.add(this);
+        }
+
+        void bindTo(MeterRegistry registry) {
+            this.failure = timer(registry, "failure");
+            this.size = DistributionSummary.builder("keygen.size")
+                    .description("Requested key size: characters, or bytes for base64 and url_safe")
+                    .tag("type", type)
+                    .register(registry);
+            // Set last: record() uses it to tell whether the meters are bound
+            this.success = timer(registry, "success");
+        }
+
+        String record(int requestedSize, Supplier<String> generator) {
+            Timer success = this.success;
+            if (success == null) {
+                return generator.get();
+            }
+            long start = System.nanoTime();
+            try {
+                String key = generator.get();
+                success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                size.record(requestedSize);
+                return key;
+            } catch (RuntimeException e) {
+                failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        }
+
+        private Timer timer(MeterRegistry registry, String outcome) {
+            return Timer.builder("keygen.generate")
+                    .description("Random key generation")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
     }
 }
@@ -0,0 +1,212 @@
+package com.tntgroup.testdatn.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Keys generated ahead of time, so serving one is a single dequeue.
+ * <p>
+ * Keys sit in a bounded lock-free ring buffer (one sequence number per slot,
+ * claimed by CAS on the head and tail counters). A background thread fills
+ * the ring up to capacity whenever it falls to the refill threshold, and
+ * leaves it alone above that, so keys are generated in batches of at least
+ * capacity minus threshold. Each
+ * slot is claimed by exactly one taker and cleared on the way out, so a key
+ * is never handed out twice. When the ring is empty the key is generated
+ * inline instead.
+ */
+public final class PregeneratedKeyPool implements MeterBinder {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final String type;
+    private final Supplier<String> generator;
+    private final int capacity;
+    private final int refillThreshold;
+    private final int mask;
+
+    private final AtomicReferenceArray<String> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicBoolean refillRequested = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    /**
+     * @param type            Key type, used in the worker name and metric tags
+     * @param generator       Makes one key; called by the worker and on fallback
+     * @param capacity        Keys held at most; rounded up to a power of two
+     * @param refillThreshold Low watermark: the worker refills to capacity only
+     *                        once this many keys or fewer are left
+     */
+    public PregeneratedKeyPool(String type, Supplier<String> generator, int capacity, int refillThreshold) {
+        if (capacity <= 0 || refillThreshold < 0 || refillThreshold >= capacity) {
+            throw new IllegalArgumentException("Capacity must be positive and above the refill threshold");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.type = type;
+        this.generator = generator;
+        this.capacity = size;
+        this.refillThreshold = refillThreshold;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Start the refill thread; it fills the ring before serving as a top-up.
+     */
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::refillLoop, "keygen-pool-" + type);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Take a pre-generated key, or generate one inline if none is left.
+     *
+     * @return A key no other caller has received
+     */
+    public String take() {
+        String key = poll();
+        if (key == null) {
+            fallbacks.increment();
+            requestRefill();
+            return generator.get();
+        }
+        hits.increment();
+        if (size() <= refillThreshold) {
+            requestRefill();
+        }
+        return key;
+    }
+
+    /**
+     * Keys currently held (approximate while others are taking or adding).
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long fallbackCount() {
+        return fallbacks.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("keygen.pool.size", this, PregeneratedKeyPool::size)
+                .tag("type", type)
+                .description("Pre-generated keys ready to serve")
+                .register(registry);
+        FunctionCounter.builder("keygen.pool.gets", hits, LongAdder::sum)
+                .tags("type", type, "result", "hit")
+                .description("Keys served from the pre-generated pool")
+                .register(registry);
+        FunctionCounter.builder("keygen.pool.gets", fallbacks, LongAdder::sum)
+                .tags("type", type, "result", "fallback")
+                .description("Keys generated inline because the pool was empty")
+                .register(registry);
+    }
+
+    private boolean offer(String key) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, key);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (available < 0) {
+                // Full: the slot still holds a key from the previous lap
+                return false;
+            }
+        }
+    }
+
+    private String poll() {
+        while (true) {
+            long position = head.get();
+            int index = (int) (position & mask);
+            long ready = sequences.get(index) - (position + 1);
+            if (ready == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    String key = slots.getAndSet(index, null);
+                    // Free the slot for the producer's next lap
+                    sequences.set(index, position + capacity);
+                    return key;
+                }
+            } else if (ready < 0) {
+                return null;
+            }
+        }
+    }
+
+    private void requestRefill() {
+        Thread thread = worker;
+        if (thread != null && refillRequested.compareAndSet(false, true)) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void refillLoop() {
+        fill();
+        while (running) {
+            refillRequested.set(false);
+            // A taker may have drained us to the threshold before the reset above
+            if (size() > refillThreshold) {
+                // Woken by a taker at the threshold; the timeout only covers a missed wake-up
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            fill();
+        }
+    }
+
+    private void fill() {
+        while (running && size() < capacity) {
+            if (!offer(generator.get())) {
+                return;
+            }
+        }
+    }
+}
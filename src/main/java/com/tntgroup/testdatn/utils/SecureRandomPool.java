@@ -0,0 +1,166 @@
+package com.tntgroup.testdatn.utils;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Striped pool of independently seeded {@link SecureRandom} instances.
+ * <p>
+ * A single {@code SecureRandom} serialises every caller on its internal lock.
+ * Here each caller starts at the stripe picked by its thread and takes the
+ * first free one, so threads only wait when every stripe is busy. Stripes are
+ * guarded by {@link ReentrantLock} rather than a monitor so virtual threads
+ * do not pin their carrier while waiting. Each stripe reseeds itself from the
+ * system entropy source once its reseed interval has passed.
+ * <p>
+ * Striping only helps for algorithms with per-instance state, such as DRBG.
+ * NativePRNG variants share one global generator per JVM, so every stripe
+ * still contends on it.
+ */
+public final class SecureRandomPool {
+
+    public static final String DEFAULT_ALGORITHM = "DRBG";
+
+    private final String algorithm;
+    private final long reseedIntervalNanos;
+    private final Stripe[] stripes;
+    private final int mask;
+
+    private static final class Stripe {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final SecureRandom random;
+        long lastReseedNanos = System.nanoTime();
+        boolean reseedSupported = true;
+
+        Stripe(SecureRandom random) {
+            this.random = random;
+        }
+    }
+
+    /**
+     * @param algorithm            SecureRandom algorithm, e.g. DRBG or NativePRNGNonBlocking
+     * @param size                 Number of stripes (0 = twice the CPU count), rounded up to a power of two
+     * @param reseedIntervalMillis Reseed each stripe this often (0 = never)
+     * @throws IllegalArgumentException if the algorithm is not available
+     */
+    public SecureRandomPool(String algorithm, int size, long reseedIntervalMillis) {
+        if (size < 0 || reseedIntervalMillis < 0) {
+            throw new IllegalArgumentException("Pool size and reseed interval must not be negative");
+        }
+        int requested = size > 0 ? size : 2 * Runtime.getRuntime().availableProcessors();
+        int stripeCount = requested == 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+        this.algorithm = algorithm;
+        this.reseedIntervalNanos = TimeUnit.MILLISECONDS.toNanos(reseedIntervalMillis);
+        this.stripes = new Stripe[stripeCount];
+        this.mask = stripeCount - 1;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(newInstance(algorithm));
+        }
+    }
+
+    /**
+     * Pool with the default algorithm, two stripes per CPU and hourly reseeding.
+     */
+    public static SecureRandomPool withDefaults() {
+        return new SecureRandomPool(DEFAULT_ALGORITHM, 0, TimeUnit.HOURS.toMillis(1));
+    }
+
+    /**
+     * Run {@code body} with exclusive use of one generator from the pool.
+     * Keep the body short: it holds the stripe until it returns.
+     *
+     * @param body Work that draws random values
+     * @return What the body returned
+     */
+    public <T> T apply(Function<SecureRandom, T> body) {
+        Stripe stripe = acquire();
+        try {
+            reseedIfDue(stripe);
+            return body.apply(stripe.random);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Fill {@code bytes} from one generator in the pool.
+     */
+    public void nextBytes(byte[] bytes) {
+        Stripe stripe = acquire();
+        try {
+            reseedIfDue(stripe);
+            stripe.random.nextBytes(bytes);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Draw one long from one generator in the pool.
+     */
+    public long nextLong() {
+        Stripe stripe = acquire();
+        try {
+            reseedIfDue(stripe);
+            return stripe.random.nextLong();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+
+    private Stripe acquire() {
+        int home = spread(Thread.currentThread().getId()) & mask;
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[(home + i) & mask];
+            if (stripe.lock.tryLock()) {
+                return stripe;
+            }
+        }
+        // Every stripe is busy: queue on our own
+        Stripe stripe = stripes[home];
+        stripe.lock.lock();
+        return stripe;
+    }
+
+    private void reseedIfDue(Stripe stripe) {
+        if (reseedIntervalNanos == 0 || !stripe.reseedSupported) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - stripe.lastReseedNanos < reseedIntervalNanos) {
+            return;
+        }
+        stripe.lastReseedNanos = now;
+        try {
+            stripe.random.reseed();
+        } catch (UnsupportedOperationException e) {
+            // Generators without reseed() (e.g. NativePRNG) draw from the OS on every call anyway
+            stripe.reseedSupported = false;
+        }
+    }
+
+    private static int spread(long threadId) {
+        long h = threadId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static SecureRandom newInstance(String algorithm) {
+        try {
+            return SecureRandom.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported SecureRandom algorithm: " + algorithm, e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.tntgroup.testdatn.utils;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Monotonic, time-ordered identifiers.
+ * <p>
+ * 128-bit ids are UUIDv7 (RFC 9562): 48 bits of Unix milliseconds, a 12-bit
+ * counter in {@code rand_a} and 62 random bits. The counter starts at a
+ * random value below 2048 each millisecond and is bumped for every id in the
+ * same millisecond; if it overflows, the timestamp runs ahead by a
+ * millisecond rather than repeat. The same bits can be written as a
+ * canonical UUID or as a ULID (Crockford base32), and both sort in
+ * generation order.
+ * <p>
+ * 64-bit ids pack 41 bits of milliseconds since 2024-01-01, a 10-bit node
+ * ID and a 12-bit sequence, so nodes with distinct IDs never collide.
+ * <p>
+ * Both counters are single atomic longs advanced by CAS, and the encoders
+ * write hex or base32 digits straight from the two longs into the caller's
+ * buffer.
+ */
+public final class TimeOrderedIdGenerator {
+
+    public static final int UUID_LENGTH = 36;
+    public static final int ULID_LENGTH = 26;
+    public static final int MAX_NODE_ID = 1023;
+
+    private static final long LONG_ID_EPOCH_MILLIS = 1_704_067_200_000L;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeBits;
+    private final LongSupplier random;
+    private final Clock clock;
+
+    // (unix millis << 12) | rand_a counter
+    private final AtomicLong uuidState = new AtomicLong();
+    // (millis since LONG_ID_EPOCH_MILLIS << 12) | sequence
+    private final AtomicLong longState = new AtomicLong();
+
+    /**
+     * @param nodeId Distinguishes this process in 64-bit ids, 0 to {@value #MAX_NODE_ID}
+     * @param random Source of the random bits in 128-bit ids
+     * @param clock  Source of the timestamp
+     */
+    public TimeOrderedIdGenerator(int nodeId, LongSupplier random, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << 12;
+        this.random = random;
+        this.clock = clock;
+    }
+
+    public UUID nextUuid() {
+        return new UUID(nextMostSignificantBits(), nextLeastSignificantBits());
+    }
+
+    /**
+     * Write the next UUIDv7 in canonical form (36 characters, lowercase).
+     *
+     * @param dest   Buffer to write into
+     * @param offset Where the first character goes
+     * @throws IndexOutOfBoundsException if the id does not fit
+     */
+    public void fillUuid(char[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, UUID_LENGTH, dest.length);
+        long msb = nextMostSignificantBits();
+        long lsb = nextLeastSignificantBits();
+        writeHex(msb >>> 32, 8, dest, offset);
+        dest[offset + 8] = '-';
+        writeHex(msb >>> 16, 4, dest, offset + 9);
+        dest[offset + 13] = '-';
+        writeHex(msb, 4, dest, offset + 14);
+        dest[offset + 18] = '-';
+        writeHex(lsb >>> 48, 4, dest, offset + 19);
+        dest[offset + 23] = '-';
+        writeHex(lsb, 12, dest, offset + 24);
+    }
+
+    /**
+     * Write the next id as a ULID (26 characters): 10 for the timestamp,
+     * 16 for the counter and random bits.
+     *
+     * @param dest   Buffer to write into
+     * @param offset Where the first character goes
+     * @throws IndexOutOfBoundsException if the id does not fit
+     */
+    public void fillUlid(char[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, ULID_LENGTH, dest.length);
+        long msb = nextMostSignificantBits();
+        long lsb = nextLeastSignificantBits();
+        long time = msb >>> 16;
+        for (int i = 9; i >= 0; i--) {
+            dest[offset + i] = CROCKFORD[(int) (time & 31)];
+            time >>>= 5;
+        }
+        // Remaining 80 bits: low 16 of msb, then all of lsb
+        long high = msb & 0xFFFF;
+        for (int i = 0; i < 16; i++) {
+            int shift = 5 * (15 - i);
+            long bits;
+            if (shift >= 64) {
+                bits = high >>> (shift - 64);
+            } else if (shift > 59) {
+                bits = (lsb >>> shift) | (high << (64 - shift));
+            } else {
+                bits = lsb >>> shift;
+            }
+            dest[offset + 10 + i] = CROCKFORD[(int) (bits & 31)];
+        }
+    }
+
+    /**
+     * Next 64-bit id; positive and increasing for this generator.
+     */
+    public long nextLong() {
+        long now = clock.millis() - LONG_ID_EPOCH_MILLIS;
+        long fresh = now << 12;
+        long prev;
+        long next;
+        do {
+            prev = longState.get();
+            next = fresh > prev ? fresh : prev + 1;
+        } while (!longState.compareAndSet(prev, next));
+        return (next >>> 12) << 22 | nodeBits | (next & 0xFFF);
+    }
+
+    private long nextMostSignificantBits() {
+        long fresh = clock.millis() << 12 | ThreadLocalRandom.current().nextInt(2048);
+        long prev;
+        long next;
+        do {
+            prev = uuidState.get();
+            // Same or earlier millisecond: bump the counter instead
+            next = (fresh >>> 12) > (prev >>> 12) ? fresh : prev + 1;
+        } while (!uuidState.compareAndSet(prev, next));
+        return (next >>> 12) << 16 | 0x7000 | (next & 0xFFF);
+    }
+
+    private long nextLeastSignificantBits() {
+        // IETF variant in the top two bits
+        return random.getAsLong() >>> 2 | 0x8000_0000_0000_0000L;
+    }
+
+    private static void writeHex(long value, int digits, char[] dest, int offset) {
+        for (int i = digits - 1; i >= 0; i--) {
+            dest[offset + i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.tntgroup.testdatn.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Decodes UTF-8 byte slices into a per-thread char buffer, so byte-level
+ * callers of {@link ValidationUtils} and {@link FormatUtils} can be served
+ * by the same {@link CharSequence} code without building a String.
+ * <p>
+ * Pure ASCII is copied byte by byte and allocates nothing. Anything else
+ * goes through a reused {@link CharsetDecoder} that replaces malformed
+ * input exactly like {@code new String(bytes, UTF_8)}. The returned buffer
+ * is only valid until the same thread decodes again.
+ */
+final class Utf8Slices {
+
+    private static final int INITIAL_CHARS = 256;
+    // Do not keep a buffer this large around after one huge field
+    private static final int MAX_RETAINED_CHARS = 16 * 1024;
+
+    private static final ThreadLocal<Utf8Slices> LOCAL = ThreadLocal.withInitial(Utf8Slices::new);
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private CharBuffer chars = CharBuffer.allocate(INITIAL_CHARS);
+
+    private Utf8Slices() {
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the slice is outside the array
+     */
+    static CharSequence decode(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        Utf8Slices local = LOCAL.get();
+        CharBuffer out = local.buffer(length);
+        char[] dest = out.array();
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[offset + i];
+            if (b < 0) {
+                return local.decodeNonAscii(ByteBuffer.wrap(bytes, offset, length));
+            }
+            dest[i] = (char) b;
+        }
+        return out.limit(length);
+    }
+
+    /**
+     * Decode {@code length} bytes starting at absolute index {@code offset};
+     * the buffer's position and limit are not changed.
+     *
+     * @throws IndexOutOfBoundsException if the slice is outside the buffer's limit
+     */
+    static CharSequence decode(ByteBuffer bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.limit());
+        if (bytes.hasArray()) {
+            return decode(bytes.array(), bytes.arrayOffset() + offset, length);
+        }
+        Utf8Slices local = LOCAL.get();
+        CharBuffer out = local.buffer(length);
+        char[] dest = out.array();
+        for (int i = 0; i < length; i++) {
+            byte b = bytes.get(offset + i);
+            if (b < 0) {
+                return local.decodeNonAscii(bytes.slice(offset, length));
+            }
+            dest[i] = (char) b;
+        }
+        return out.limit(length);
+    }
+
+    /**
+     * Cleared buffer with room for {@code length} chars; UTF-8 never decodes
+     * to more chars than it has bytes.
+     */
+    private CharBuffer buffer(int length) {
+        if (chars.capacity() < length || (chars.capacity() > MAX_RETAINED_CHARS && length <= MAX_RETAINED_CHARS)) {
+            chars = CharBuffer.allocate(Math.max(INITIAL_CHARS, length));
+        }
+        return chars.clear();
+    }
+
+    private CharSequence decodeNonAscii(ByteBuffer in) {
+        CharBuffer out = chars.clear();
+        decoder.reset();
+        decoder.decode(in, out, true);
+        decoder.flush(out);
+        return out.flip();
+    }
+}
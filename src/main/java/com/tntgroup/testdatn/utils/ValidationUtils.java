@@ -1,11 +1,15 @@
 package com.tntgroup.testdatn.utils;
 
-import java.util.regex.Pattern;
+import java.nio.ByteBuffer;
 
 /**
  * Utility class for validation functions.
  * All methods are pure functions - no side effects, no dependencies.
  * Perfect for automated testing with TestFlow!
+ * <p>
+ * Text is taken as any {@link CharSequence}, so callers can validate a
+ * region of a buffer without copying it out. The UTF-8 overloads give the
+ * same answer as validating {@code new String(bytes, offset, length, UTF_8)}.
  */
 public final class ValidationUtils {
 
@@ -13,25 +17,50 @@ public final class ValidationUtils {
     private ValidationUtils() {
     }
 
-    // Email regex pattern
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-            "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-
-    // Vietnamese phone pattern: starts with 0, 10-11 digits
-    private static final Pattern PHONE_PATTERN = Pattern.compile(
-            "^0[3-9][0-9]{8,9}$");
-
     /**
      * Validate email format.
+     * Accepts the same strings as {@code ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$}
+     * after {@link String#trim()}, in one scan and without allocating.
      * 
      * @param email Email to validate
      * @return true if valid email format, false otherwise
      */
-    public static boolean isValidEmail(String email) {
-        if (email == null || email.isBlank()) {
+    public static boolean isValidEmail(CharSequence email) {
+        if (email == null) {
             return false;
         }
-        return EMAIL_PATTERN.matcher(email.trim()).matches();
+        int start = trimStart(email);
+        int end = trimEnd(email, start);
+
+        int i = start;
+        // Local part: one or more of [A-Za-z0-9+_.-]
+        while (i < end && isEmailLocalChar(email.charAt(i))) {
+            i++;
+        }
+        if (i == start || i == end || email.charAt(i) != '@') {
+            return false;
+        }
+
+        // Domain: [A-Za-z0-9.-]+ then a dot and 2+ letters, which must follow the last dot
+        int domainStart = ++i;
+        int lastDot = -1;
+        int tldLetters = 0;
+        boolean tldAllLetters = false;
+        for (; i < end; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+                tldLetters = 0;
+                tldAllLetters = true;
+            } else if (isAsciiLetter(c)) {
+                tldLetters++;
+            } else if (isAsciiDigit(c) || c == '-') {
+                tldAllLetters = false;
+            } else {
+                return false;
+            }
+        }
+        return lastDot > domainStart && tldAllLetters && tldLetters >= 2;
     }
 
     /**
@@ -41,7 +70,7 @@ public final class ValidationUtils {
      * @param password Password to validate
      * @return true if password meets requirements
      */
-    public static boolean isValidPassword(String password) {
+    public static boolean isValidPassword(CharSequence password) {
         if (password == null || password.length() < 8) {
             return false;
         }
@@ -50,7 +79,8 @@ public final class ValidationUtils {
         boolean hasLowercase = false;
         boolean hasDigit = false;
 
-        for (char c : password.toCharArray()) {
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
             if (Character.isUpperCase(c))
                 hasUppercase = true;
             if (Character.isLowerCase(c))
@@ -69,12 +99,13 @@ public final class ValidationUtils {
      * @param username Username to validate
      * @return true if valid username
      */
-    public static boolean isValidUsername(String username) {
+    public static boolean isValidUsername(CharSequence username) {
         if (username == null || username.length() < 3 || username.length() > 20) {
             return false;
         }
 
-        for (char c : username.toCharArray()) {
+        for (int i = 0; i < username.length(); i++) {
+            char c = username.charAt(i);
             if (!Character.isLetterOrDigit(c) && c != '_') {
                 return false;
             }
@@ -83,16 +114,33 @@ public final class ValidationUtils {
     }
 
     /**
-     * Validate Vietnamese phone number format.
+     * Validate Vietnamese phone number format: 0, then 3-9, then 8 or 9 more
+     * digits, after {@link String#trim()}. No regex and no allocation.
      * 
      * @param phone Phone number to validate
      * @return true if valid Vietnamese phone format
      */
-    public static boolean isValidPhoneNumber(String phone) {
-        if (phone == null || phone.isBlank()) {
+    public static boolean isValidPhoneNumber(CharSequence phone) {
+        if (phone == null) {
+            return false;
+        }
+        int start = trimStart(phone);
+        int end = trimEnd(phone, start);
+
+        int length = end - start;
+        if (length < 10 || length > 11 || phone.charAt(start) != '0') {
             return false;
         }
-        return PHONE_PATTERN.matcher(phone.trim()).matches();
+        char second = phone.charAt(start + 1);
+        if (second < '3' || second > '9') {
+            return false;
+        }
+        for (int i = start + 2; i < end; i++) {
+            if (!isAsciiDigit(phone.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -111,14 +159,14 @@ public final class ValidationUtils {
      * @param cardNumber Credit card number (digits only)
      * @return true if valid according to Luhn algorithm
      */
-    public static boolean isValidCreditCard(String cardNumber) {
+    public static boolean isValidCreditCard(CharSequence cardNumber) {
         if (cardNumber == null || cardNumber.length() < 13 || cardNumber.length() > 19) {
             return false;
         }
 
         // Check all digits
-        for (char c : cardNumber.toCharArray()) {
-            if (!Character.isDigit(c)) {
+        for (int i = 0; i < cardNumber.length(); i++) {
+            if (!Character.isDigit(cardNumber.charAt(i))) {
                 return false;
             }
         }
@@ -143,4 +191,101 @@ public final class ValidationUtils {
 
         return sum % 10 == 0;
     }
+
+    /**
+     * {@link #isValidEmail(CharSequence)} on UTF-8 bytes.
+     *
+     * @throws IndexOutOfBoundsException if the slice is outside the array
+     */
+    public static boolean isValidEmail(byte[] utf8, int offset, int length) {
+        return isValidEmail(Utf8Slices.decode(utf8, offset, length));
+    }
+
+    /**
+     * {@link #isValidEmail(CharSequence)} on UTF-8 bytes at absolute
+     * positions; the buffer's position and limit are left alone.
+     *
+     * @throws IndexOutOfBoundsException if the slice is outside the buffer's limit
+     */
+    public static boolean isValidEmail(ByteBuffer utf8, int offset, int length) {
+        return isValidEmail(Utf8Slices.decode(utf8, offset, length));
+    }
+
+    /**
+     * {@link #isValidPassword(CharSequence)} on UTF-8 bytes.
+     */
+    public static boolean isValidPassword(byte[] utf8, int offset, int length) {
+        return isValidPassword(Utf8Slices.decode(utf8, offset, length));
+    }
+
+    public static boolean isValidPassword(ByteBuffer utf8, int offset, int length) {
+        return isValidPassword(Utf8Slices.decode(utf8, offset, length));
+    }
+
+    /**
+     * {@link #isValidUsername(CharSequence)} on UTF-8 bytes.
+     */
+    public static boolean isValidUsername(byte[] utf8, int offset, int length) {
+        return isValidUsername(Utf8Slices.decode(utf8, offset, length));
+    }
+
+    public static boolean isValidUsername(ByteBuffer utf8, int offset, int length) {
+        return isValidUsername(Utf8Slices.decode(utf8, offset, length));
+    }
+
+    /**
+     * {@link #isValidPhoneNumber(CharSequence)} on UTF-8 bytes.
+     */
+    public static boolean isValidPhoneNumber(byte[] utf8, int offset, int length) {
+        return isValidPhoneNumber(Utf8Slices.decode(utf8, offset, length));
+    }
+
+    public static boolean isValidPhoneNumber(ByteBuffer utf8, int offset, int length) {
+        return isValidPhoneNumber(Utf8Slices.decode(utf8, offset, length));
+    }
+
+    /**
+     * {@link #isValidCreditCard(CharSequence)} on UTF-8 bytes.
+     */
+    public static boolean isValidCreditCard(byte[] utf8, int offset, int length) {
+        return isValidCreditCard(Utf8Slices.decode(utf8, offset, length));
+    }
+
+    public static boolean isValidCreditCard(ByteBuffer utf8, int offset, int length) {
+        return isValidCreditCard(Utf8Slices.decode(utf8, offset, length));
+    }
+
+    /**
+     * First index {@link String#trim()} would keep.
+     */
+    private static int trimStart(CharSequence value) {
+        int start = 0;
+        while (start < value.length() && value.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * End (exclusive) {@link String#trim()} would keep.
+     */
+    private static int trimEnd(CharSequence value, int start) {
+        int end = value.length();
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
 }
@@ -0,0 +1,137 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tntgroup.testdatn.dto.ApiKeyResponse;
+import com.tntgroup.testdatn.entity.ApiKey;
+import com.tntgroup.testdatn.repository.ApiKeyRepository;
+import com.tntgroup.testdatn.service.ApiKeyService;
+
+/**
+ * Tests for ApiKeyService
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(ApiKeyService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ApiKeyServiceTest {
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @Autowired
+    private ApiKeyService apiKeyService;
+
+    @AfterEach
+    void tearDown() {
+        apiKeyRepository.deleteAll();
+        apiKeyService.reload();
+    }
+
+    @Test
+    @DisplayName("new key authenticates its owner; only the secret's hash is stored")
+    void create_thenAuthenticate_returnsOwner() {
+        // Act
+        ApiKeyResponse created = apiKeyService.create("alice", "live");
+        ApiKeyService.Identity identity = apiKeyService.authenticate(created.getKey());
+
+        // Assert
+        assertTrue(created.getKey().startsWith("live_" + created.getLookupId()));
+        assertEquals(new ApiKeyService.Identity("alice", created.getLookupId()), identity);
+        ApiKey stored = apiKeyRepository.findByLookupId(created.getLookupId()).orElseThrow();
+        assertEquals(64, stored.getSecretHash().length());
+        assertFalse(created.getKey().contains(stored.getSecretHash()));
+        assertNull(apiKeyService.list("alice").get(0).getKey());
+    }
+
+    @Test
+    @DisplayName("wrong secret, wrong prefix and malformed keys are rejected")
+    void authenticate_tamperedKey_returnsNull() {
+        String key = apiKeyService.create("alice", "live").getKey();
+        char last = key.charAt(key.length() - 1);
+        String wrongSecret = key.substring(0, key.length() - 1) + (last == 'a' ? 'b' : 'a');
+
+        // Act & Assert
+        assertNull(apiKeyService.authenticate(wrongSecret));
+        assertNull(apiKeyService.authenticate("test" + key.substring(key.indexOf('_'))));
+        assertNull(apiKeyService.authenticate(key.substring(0, key.indexOf('_') + 13)));
+        assertNull(apiKeyService.authenticate("no-separator"));
+        assertNull(apiKeyService.authenticate("_" + key));
+    }
+
+    @Test
+    @DisplayName("revoked key stops authenticating at once; other users cannot revoke it")
+    void revoke_ownKey_rejectedImmediately() {
+        ApiKeyResponse created = apiKeyService.create("alice", "api");
+
+        // Act
+        boolean revokedByOther = apiKeyService.revoke("mallory", created.getLookupId());
+        ApiKeyService.Identity stillValid = apiKeyService.authenticate(created.getKey());
+        boolean revoked = apiKeyService.revoke("alice", created.getLookupId());
+        boolean revokedTwice = apiKeyService.revoke("alice", created.getLookupId());
+
+        // Assert
+        assertFalse(revokedByOther);
+        assertNotNull(stillValid);
+        assertTrue(revoked);
+        assertFalse(revokedTwice);
+        assertNull(apiKeyService.authenticate(created.getKey()));
+        assertNotNull(apiKeyRepository.findByLookupId(created.getLookupId()).orElseThrow().getRevokedAt());
+    }
+
+    @Test
+    @DisplayName("reload picks up keys created and revoked on another node")
+    void reload_changesFromOtherNode_applied() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        ApiKeyService thisNode = new ApiKeyService(apiKeyRepository, 32, clock);
+        ApiKeyService otherNode = new ApiKeyService(apiKeyRepository, 32, clock);
+        ApiKeyResponse revokedElsewhere = thisNode.create("alice", "api");
+        ApiKeyResponse createdElsewhere = otherNode.create("bob", "api");
+        otherNode.revoke("alice", revokedElsewhere.getLookupId());
+
+        // Act
+        ApiKeyService.Identity beforeReload = thisNode.authenticate(createdElsewhere.getKey());
+        clock.advance(Duration.ofSeconds(30));
+        thisNode.reload();
+
+        // Assert
+        assertNull(beforeReload);
+        assertEquals("bob", thisNode.authenticate(createdElsewhere.getKey()).username());
+        assertNull(thisNode.authenticate(revokedElsewhere.getKey()));
+        assertEquals(1, thisNode.size());
+    }
+
+    @Test
+    @DisplayName("revocation poll drops a key revoked on another node without a full reload")
+    void pollRevocations_revokedOnOtherNode_rejectedAtOnce() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        ApiKeyService thisNode = new ApiKeyService(apiKeyRepository, 32, clock);
+        ApiKeyService otherNode = new ApiKeyService(apiKeyRepository, 32, clock);
+        ApiKeyResponse created = thisNode.create("alice", "api");
+        ApiKeyResponse kept = thisNode.create("alice", "api");
+        thisNode.pollRevocations();
+        clock.advance(Duration.ofSeconds(1));
+        otherNode.revoke("alice", created.getLookupId());
+
+        // Act
+        ApiKeyService.Identity beforePoll = thisNode.authenticate(created.getKey());
+        clock.advance(Duration.ofSeconds(1));
+        thisNode.pollRevocations();
+
+        // Assert
+        assertNotNull(beforePoll);
+        assertNull(thisNode.authenticate(created.getKey()));
+        assertEquals("alice", thisNode.authenticate(kept.getKey()).username());
+    }
+}
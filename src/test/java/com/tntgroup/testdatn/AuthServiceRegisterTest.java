@@ -0,0 +1,172 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tntgroup.testdatn.dto.RegisterRequest;
+import com.tntgroup.testdatn.repository.UserRepository;
+import com.tntgroup.testdatn.security.TokenRevocationStore;
+import com.tntgroup.testdatn.security.VerifiedTokenCache;
+import com.tntgroup.testdatn.service.AuthMetrics;
+import com.tntgroup.testdatn.service.AuthService;
+import com.tntgroup.testdatn.service.CredentialCache;
+import com.tntgroup.testdatn.service.JwtService;
+import com.tntgroup.testdatn.service.PasswordHashingService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for AuthService.register against an embedded database
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AuthServiceRegisterTest {
+
+    private static final String SECRET = "example-secret-key-must-be-at-least-256-bits-long-for-hs256";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService passwordHashingService;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry,
+                4, 64, 1);
+        authService = new AuthService(userRepository, new JwtService(SECRET, 60000L), passwordHashingService,
+                new TokenRevocationStore(1000, 60000L), new VerifiedTokenCache(1000),
+                new CredentialCache(1000, 60000L, 1000L), new AuthMetrics(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    @DisplayName("register(duplicate username) = Username already exists")
+    void register_withDuplicateUsername_fails() {
+        authService.register(request("alice", "alice@example.com"));
+
+        // Act
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> authService.register(request("alice", "other@example.com")));
+
+        // Assert
+        assertEquals("Username already exists", error.getMessage());
+    }
+
+    @Test
+    @DisplayName("register records request outcome and per-stage timers")
+    void register_recordsOutcomeAndStages() {
+        authService.register(request("alice", "alice@example.com"));
+
+        // Act
+        assertThrows(RuntimeException.class, () -> authService.register(request("alice", "other@example.com")));
+        assertThrows(RuntimeException.class, () -> authService.register(request("b", "b@example.com")));
+
+        // Assert
+        assertEquals(1, requests("success").count());
+        assertEquals(1, requests("duplicate").count());
+        assertEquals(1, requests("invalid_input").count());
+        assertEquals(2, meterRegistry.get("auth.stage").tags("stage", "bcrypt", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("auth.stage").tags("stage", "db", "outcome", "failure").timer().count());
+        assertEquals(1, meterRegistry.get("auth.stage").tags("stage", "token").timer().count());
+    }
+
+    @Test
+    @DisplayName("register(duplicate email) = Email already exists")
+    void register_withDuplicateEmail_fails() {
+        authService.register(request("alice", "alice@example.com"));
+
+        // Act
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> authService.register(request("bob", "alice@example.com")));
+
+        // Assert
+        assertEquals("Email already exists", error.getMessage());
+    }
+
+    @Test
+    @DisplayName("duplicateUserError(unnamed constraint) = generic message, never the driver's")
+    void duplicateUserError_unnamedConstraint_hidesDriverMessage() {
+        DataIntegrityViolationException e = new DataIntegrityViolationException(
+                "could not execute statement [Duplicate entry 'alice@example.com' for key 'users.idx_x'] "
+                        + "[insert into users (email,password,username) values (?,?,?)]");
+
+        // Act
+        RuntimeException error = AuthService.duplicateUserError(e);
+
+        // Assert
+        assertEquals("Username or email already exists", error.getMessage());
+        assertNotSame(e, error);
+    }
+
+    @Test
+    @DisplayName("concurrent register(same username) = exactly one success")
+    void register_concurrentlySameUsername_onlyOneWins() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String email = "racer" + i + "@example.com";
+            Callable<String> attempt = () -> {
+                start.await();
+                try {
+                    return authService.register(request("racer", email)).getMessage();
+                } catch (RuntimeException e) {
+                    return e.getMessage();
+                }
+            };
+            results.add(pool.submit(attempt));
+        }
+
+        // Act
+        start.countDown();
+        List<String> messages = new ArrayList<>();
+        for (Future<String> result : results) {
+            messages.add(result.get());
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(1, messages.stream().filter("Registration successful"::equals).count());
+        assertEquals(threads - 1, messages.stream().filter("Username already exists"::equals).count());
+        assertEquals(1, userRepository.count());
+    }
+
+    private Timer requests(String outcome) {
+        return meterRegistry.get("auth.requests").tags("operation", "register", "outcome", outcome).timer();
+    }
+
+    private static RegisterRequest request(String username, String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setPassword("Passw0rdX");
+        return request;
+    }
+}
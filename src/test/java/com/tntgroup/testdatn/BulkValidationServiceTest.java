@@ -0,0 +1,209 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.dto.ValidationSummary;
+import com.tntgroup.testdatn.service.BulkValidationService;
+import com.tntgroup.testdatn.service.BulkValidationService.Format;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Tests for BulkValidationService
+ */
+public class BulkValidationServiceTest {
+
+    private final BulkValidationService service = new BulkValidationService(JsonMapper.builder().build(), 2, 3, 2);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("NDJSON: one result per record in input order, across batch boundaries")
+    void validate_ndjson_resultsInInputOrder() throws IOException {
+        String input = """
+                {"id":"a","email":"ok@example.com","phoneNumber":"0912345678","age":30}
+                {"id":"b","email":"not-an-email"}
+
+                {"id":"c","cardNumber":"4111111111111111","age":"200"}
+                {"id":"d","phoneNumber":"123","age":"thirty"}
+                not json
+                null
+                {"email":"  "}
+                """;
+        StringWriter out = new StringWriter();
+
+        // Act
+        ValidationSummary summary = service.validate(new StringReader(input), Format.NDJSON, out);
+
+        // Assert
+        List<String> lines = out.toString().lines().toList();
+        assertEquals(List.of(
+                "{\"row\":1,\"id\":\"a\",\"valid\":true}",
+                "{\"row\":2,\"id\":\"b\",\"valid\":false,\"errors\":{\"email\":\"Invalid email\"}}",
+                "{\"row\":3,\"id\":\"c\",\"valid\":false,\"errors\":{\"age\":\"Age must be between 1 and 150\"}}",
+                "{\"row\":4,\"id\":\"d\",\"valid\":false,\"errors\":{\"phoneNumber\":\"Invalid phone number\","
+                        + "\"age\":\"Age must be a whole number\"}}",
+                "{\"row\":5,\"valid\":false,\"errors\":{\"record\":\"Malformed JSON\"}}",
+                "{\"row\":6,\"valid\":false,\"errors\":{\"record\":\"Malformed JSON\"}}",
+                "{\"row\":7,\"valid\":true}"), lines);
+        assertEquals(7, summary.getRecords());
+        assertEquals(2, summary.getValid());
+        assertEquals(5, summary.getInvalid());
+    }
+
+    @Test
+    @DisplayName("CSV: columns found by header name, quoted fields supported")
+    void validate_csv_checksNamedColumns() throws IOException {
+        String input = """
+                Age,ID,Email,CardNumber
+                25,x1,"first.last@example.com",4111111111111111
+                0,x2,bad,"4111 1111 1111 1112"
+                ,"x3, quoted",,
+                1,"x4,bad@
+                """;
+        StringWriter out = new StringWriter();
+
+        // Act
+        ValidationSummary summary = service.validate(new StringReader(input), Format.CSV, out);
+
+        // Assert
+        List<String> lines = out.toString().lines().toList();
+        assertEquals(List.of(
+                "{\"row\":1,\"id\":\"x1\",\"valid\":true}",
+                "{\"row\":2,\"id\":\"x2\",\"valid\":false,\"errors\":{\"email\":\"Invalid email\","
+                        + "\"cardNumber\":\"Invalid card number\",\"age\":\"Age must be between 1 and 150\"}}",
+                "{\"row\":3,\"id\":\"x3, quoted\",\"valid\":true}",
+                "{\"row\":4,\"valid\":false,\"errors\":{\"record\":\"Unterminated quoted field\"}}"), lines);
+        assertEquals(4, summary.getRecords());
+        assertEquals(2, summary.getInvalid());
+    }
+
+    @Test
+    @DisplayName("CSV without any validated column is rejected before any output")
+    void validate_csvWithoutKnownColumns_throws() {
+        StringWriter out = new StringWriter();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> service.validate(new StringReader("id,name\n1,x\n"), Format.CSV, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.validate(new StringReader(""), Format.CSV, out));
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    @DisplayName("line over the length cap = record error, the lines around it still checked")
+    void validate_overlongLine_reportedWithoutBuffering() throws IOException {
+        BulkValidationService capped = new BulkValidationService(JsonMapper.builder().build(), 2, 3, 2, 100);
+        String input = "{\"id\":\"a\"}\n" + "x".repeat(10_000) + "\r\n{\"id\":\"b\",\"email\":\"bad\"}\r\n"
+                + "y".repeat(100_000);
+        StringWriter out = new StringWriter();
+
+        try {
+            // Act
+            ValidationSummary summary = capped.validate(new StringReader(input), Format.NDJSON, out);
+
+            // Assert
+            assertEquals(List.of(
+                    "{\"row\":1,\"id\":\"a\",\"valid\":true}",
+                    "{\"row\":2,\"valid\":false,\"errors\":{\"record\":\"Record is longer than 100 characters\"}}",
+                    "{\"row\":3,\"id\":\"b\",\"valid\":false,\"errors\":{\"email\":\"Invalid email\"}}",
+                    "{\"row\":4,\"valid\":false,\"errors\":{\"record\":\"Record is longer than 100 characters\"}}"),
+                    out.toString().lines().toList());
+            assertEquals(4, summary.getRecords());
+        } finally {
+            capped.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("large input is streamed: output starts before the input is read through")
+    void validate_largeInput_boundedReadAhead() throws IOException {
+        BulkValidationService streaming = new BulkValidationService(JsonMapper.builder().build(), 2, 100, 2);
+        GeneratedInput input = new GeneratedInput(100_000);
+        long[] readAtFirstWrite = { -1 };
+        long[] rows = { 0 };
+        Writer out = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                if (readAtFirstWrite[0] < 0) {
+                    readAtFirstWrite[0] = input.produced;
+                }
+                for (int i = offset; i < offset + length; i++) {
+                    rows[0] += buffer[i] == '\n' ? 1 : 0;
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        try {
+            // Act
+            ValidationSummary summary = streaming.validate(input, Format.NDJSON, out);
+
+            // Assert
+            assertEquals(100_000, summary.getRecords());
+            assertEquals(100_000, summary.getValid());
+            assertEquals(100_000, rows[0]);
+            // Two batches in flight, one being filled, plus the reader's buffer
+            assertTrue(readAtFirstWrite[0] < 1_000, "read " + readAtFirstWrite[0] + " records before writing");
+            assertTrue(summary.getRecordsPerSecond() > 0);
+        } finally {
+            streaming.shutdown();
+        }
+    }
+
+    /**
+     * Produces NDJSON records on demand and counts how many were handed out
+     */
+    static class GeneratedInput extends Reader {
+        private final long records;
+        private long produced;
+        private String pending = "";
+        private int pendingOffset;
+
+        GeneratedInput(long records) {
+            this.records = records;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (pendingOffset == pending.length()) {
+                if (produced == records) {
+                    return -1;
+                }
+                produced++;
+                pending = "{\"id\":\"" + produced + "\",\"email\":\"user" + produced + "@example.com\"}\n";
+                pendingOffset = 0;
+            }
+            int count = Math.min(length, pending.length() - pendingOffset);
+            pending.getChars(pendingOffset, pendingOffset + count, buffer, offset);
+            pendingOffset += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.tntgroup.testdatn.config.PasswordEncoderConfig;
+import com.tntgroup.testdatn.security.CalibratedBCryptPasswordEncoder;
+
+/**
+ * Tests for CalibratedBCryptPasswordEncoder
+ */
+public class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    @DisplayName("upgradeEncoding = true only for a lower cost")
+    void upgradeEncoding_withLowerCost_returnsTrue() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        // Act
+        String own = encoder.encode("Passw0rdX");
+        String weaker = new BCryptPasswordEncoder(4).encode("Passw0rdX");
+        String stronger = new BCryptPasswordEncoder(6).encode("Passw0rdX");
+
+        // Assert
+        assertFalse(encoder.upgradeEncoding(own));
+        assertTrue(encoder.upgradeEncoding(weaker));
+        assertTrue(encoder.matches("Passw0rdX", weaker));
+        assertTrue(encoder.matches("Passw0rdX", stronger));
+    }
+
+    @Test
+    @DisplayName("upgradeEncoding(stronger hash) = false, the hash is left alone")
+    void upgradeEncoding_withStrongerCost_returnsFalse() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        // Act
+        String stronger = new BCryptPasswordEncoder(6).encode("Passw0rdX");
+        String muchStronger = "$2a$12$" + stronger.substring(7);
+
+        // Assert
+        assertFalse(encoder.upgradeEncoding(stronger));
+        assertFalse(encoder.upgradeEncoding(muchStronger));
+    }
+
+    @Test
+    @DisplayName("delegating encoder accepts and upgrades unprefixed hashes")
+    void delegating_withLegacyHash_matchesAndUpgrades() {
+        CalibratedBCryptPasswordEncoder bcrypt = new CalibratedBCryptPasswordEncoder(4);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        String legacy = new BCryptPasswordEncoder(4).encode("Passw0rdX");
+
+        // Act
+        String rehashed = encoder.encode("Passw0rdX");
+
+        // Assert
+        assertTrue(encoder.matches("Passw0rdX", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+        assertTrue(rehashed.startsWith("{bcrypt}$2a$04$"));
+        assertFalse(encoder.upgradeEncoding(rehashed));
+    }
+
+    @Test
+    @DisplayName("passwordEncoder bean: stronger legacy hash kept, hashes readable with calibration on and off")
+    void passwordEncoderBean_legacyHashAndModeToggle() {
+        PasswordEncoderConfig config = new PasswordEncoderConfig();
+        PasswordEncoder calibrated = config.passwordEncoder(1, 4);
+        PasswordEncoder plain = config.passwordEncoder(0, 10);
+        String legacyStrong = new BCryptPasswordEncoder(12).encode("Passw0rdX");
+        String legacyWeak = new BCryptPasswordEncoder(4).encode("Passw0rdX");
+
+        // Act
+        String writtenCalibrated = calibrated.encode("Passw0rdX");
+        String writtenPlain = plain.encode("Passw0rdX");
+
+        // Assert
+        assertTrue(calibrated.matches("Passw0rdX", legacyStrong));
+        assertFalse(calibrated.upgradeEncoding(legacyStrong));
+        assertTrue(plain.matches("Passw0rdX", legacyStrong));
+        assertFalse(plain.upgradeEncoding(legacyStrong));
+        assertTrue(plain.upgradeEncoding(legacyWeak));
+        // Calibration turned off, then on again: nobody is locked out
+        assertTrue(plain.matches("Passw0rdX", writtenCalibrated));
+        assertTrue(calibrated.matches("Passw0rdX", writtenPlain));
+        assertFalse(calibrated.upgradeEncoding(writtenPlain));
+        assertFalse(plain.upgradeEncoding(writtenPlain));
+    }
+
+    @Test
+    @DisplayName("forTargetLatency never goes below min strength")
+    void forTargetLatency_withTinyTarget_clampsToMinimum() {
+        CalibratedBCryptPasswordEncoder encoder = CalibratedBCryptPasswordEncoder
+                .forTargetLatency(Duration.ofNanos(1), 6);
+
+        assertEquals(6, encoder.getStrength());
+    }
+}
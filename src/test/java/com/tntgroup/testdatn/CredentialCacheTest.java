@@ -0,0 +1,135 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.repository.UserCredentials;
+import com.tntgroup.testdatn.repository.UserRepository;
+import com.tntgroup.testdatn.service.CredentialCache;
+
+/**
+ * Tests for CredentialCache and its invalidation on User writes
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(CredentialCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CredentialCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("second lookup = hit without database load")
+    void get_twice_loadsOnce() {
+        saveUser("alice", "hash-1");
+
+        // Act
+        Optional<UserCredentials> first = lookup("alice");
+        Optional<UserCredentials> second = lookup("ALICE");
+
+        // Assert
+        assertEquals("hash-1", first.orElseThrow().passwordHash());
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("unknown username is cached negatively until the user is created")
+    void get_unknownUser_cachedUntilCreated() {
+        // Act
+        Optional<UserCredentials> missing = lookup("ghost");
+        Optional<UserCredentials> stillMissing = lookup("ghost");
+        saveUser("ghost", "hash-1");
+        Optional<UserCredentials> created = lookup("ghost");
+
+        // Assert
+        assertTrue(missing.isEmpty());
+        assertTrue(stillMissing.isEmpty());
+        assertTrue(created.isPresent());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("password change evicts the cached hash")
+    void get_afterPasswordChange_returnsNewHash() {
+        User user = saveUser("alice", "hash-1");
+        lookup("alice");
+
+        // Act
+        user.setPassword("hash-2");
+        userRepository.save(user);
+        Optional<UserCredentials> result = lookup("alice");
+
+        // Assert
+        assertEquals("hash-2", result.orElseThrow().passwordHash());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("rename evicts the entry under the old username")
+    void get_afterRename_oldUsernameMisses() {
+        User user = saveUser("alice", "hash-1");
+        lookup("alice");
+
+        // Act
+        user.setUsername("alicia");
+        userRepository.save(user);
+        Optional<UserCredentials> oldName = lookup("alice");
+        Optional<UserCredentials> newName = lookup("alicia");
+
+        // Assert
+        assertTrue(oldName.isEmpty());
+        assertEquals("alicia", newName.orElseThrow().username());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("null or blank username = empty without a database load")
+    void get_blankUsername_emptyWithoutLoad() {
+        // Act & Assert
+        assertTrue(lookup(null).isEmpty());
+        assertTrue(lookup("  ").isEmpty());
+        assertTrue(credentialCache.getAsync(null, name -> {
+            loads.incrementAndGet();
+            return null;
+        }).toCompletableFuture().join().isEmpty());
+        assertEquals(0, loads.get());
+    }
+
+    private Optional<UserCredentials> lookup(String username) {
+        return credentialCache.get(username, name -> {
+            loads.incrementAndGet();
+            return userRepository.findCredentialsByUsername(name);
+        });
+    }
+
+    private User saveUser(String username, String passwordHash) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword(passwordHash);
+        return userRepository.save(user);
+    }
+}
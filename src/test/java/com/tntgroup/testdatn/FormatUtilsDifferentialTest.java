@@ -0,0 +1,142 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.utils.FormatUtils;
+
+/**
+ * Checks the single-pass phone, card and slug formatters against the regex
+ * versions they replaced.
+ */
+public class FormatUtilsDifferentialTest {
+
+    private static final String[] PHONE_PIECES = { "0", "9", "5", "09", "123", " ", "-", "(", ")", "+", "a",
+            "٣", "😀", "\t" };
+    private static final String[] SLUG_PIECES = { "a", "Z", "I", "i", "0", "9", " ", "  ", "\t", "\n", "\u000B",
+            "-", "--", "_", "!", ".", " ", " ", "é", "É", "İ", "ß", "K",
+            "Σ", "😀", "\u0000" };
+
+    @Test
+    @DisplayName("formatPhoneNumber: same output as the regex version on edge cases")
+    void formatPhoneNumber_edgeCases_matchRegex() {
+        String[] inputs = { null, "", " ", "abc", "091234567", "0912345678", "09123456789", "091234567890",
+                "0912-345-678", "(091) 234 5678", "+84 912 345 678", " 0912345678 ", "٣٣٣" };
+        for (String input : inputs) {
+            assertEquals(oldFormatPhoneNumber(input), FormatUtils.formatPhoneNumber(input), "[" + input + "]");
+        }
+    }
+
+    @Test
+    @DisplayName("maskCreditCard: same output as the regex version on edge cases")
+    void maskCreditCard_edgeCases_matchRegex() {
+        String[] inputs = { null, "", "123", "1234", "12a3", "abcd", "4111 1111 1111 1111", "4111-1111-1111-1234",
+                "12 3", "1 2 3 4", "card 9876", "9876 card" };
+        for (String input : inputs) {
+            assertEquals(oldMaskCreditCard(input), FormatUtils.maskCreditCard(input), "[" + input + "]");
+        }
+    }
+
+    @Test
+    @DisplayName("toSlug: same output as the regex version on edge cases")
+    void toSlug_edgeCases_matchRegex() {
+        String[] inputs = { null, "", " ", "\t\n", "Hello World", "  Hello   World  ", "Hello--World", "a - b",
+                "-lead and trail-", "C'est la vie!", "Crème Brûlée", "ISTANBUL", "İstanbul", "straße",
+                "Kelvin", "tab\tand\u000Bvtab", "nbsp here", " ", " x ", "emoji 😀 ok",
+                "___", "a_b" };
+        for (String input : inputs) {
+            assertEquals(oldToSlug(input), FormatUtils.toSlug(input), "[" + input + "]");
+        }
+    }
+
+    @Test
+    @DisplayName("phone and card: same output as the regex versions on 200,000 random strings")
+    void phoneAndCard_randomInputs_matchRegex() {
+        Random random = new Random(25);
+        for (int i = 0; i < 200_000; i++) {
+            String input = randomString(random, PHONE_PIECES, 14);
+            assertEquals(oldFormatPhoneNumber(input), FormatUtils.formatPhoneNumber(input), "[" + input + "]");
+            assertEquals(oldMaskCreditCard(input), FormatUtils.maskCreditCard(input), "[" + input + "]");
+        }
+    }
+
+    @Test
+    @DisplayName("toSlug: same output as the regex version on 200,000 random strings")
+    void toSlug_randomInputs_matchRegex() {
+        Random random = new Random(25);
+        for (int i = 0; i < 200_000; i++) {
+            String input = randomString(random, SLUG_PIECES, 10);
+            assertEquals(oldToSlug(input), FormatUtils.toSlug(input), "[" + input + "]");
+        }
+    }
+
+    @Test
+    @DisplayName("toSlug: same output as the regex version under a Turkish default locale")
+    void toSlug_turkishLocale_matchRegex() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            Random random = new Random(25);
+            for (int i = 0; i < 20_000; i++) {
+                String input = randomString(random, SLUG_PIECES, 10);
+                assertEquals(oldToSlug(input), FormatUtils.toSlug(input), "[" + input + "]");
+            }
+            assertEquals(oldToSlug("TITLE Istanbul"), FormatUtils.toSlug("TITLE Istanbul"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    /**
+     * The removed implementations.
+     */
+    private static String oldFormatPhoneNumber(String phone) {
+        if (phone == null || phone.isBlank()) {
+            return "";
+        }
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.length() < 10) {
+            return digits;
+        }
+        if (digits.length() == 10 || digits.length() == 11) {
+            return digits.substring(0, 4) + "-" + digits.substring(4, 7) + "-" + digits.substring(7);
+        }
+        return digits;
+    }
+
+    private static String oldMaskCreditCard(String cardNumber) {
+        if (cardNumber == null || cardNumber.length() < 4) {
+            return "****";
+        }
+        String digits = cardNumber.replaceAll("\\D", "");
+        if (digits.length() < 4) {
+            return "****";
+        }
+        return "**** **** **** " + digits.substring(digits.length() - 4);
+    }
+
+    private static String oldToSlug(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        return text.toLowerCase()
+                .trim()
+                .replaceAll("[^a-z0-9\\s-]", "")
+                .replaceAll("\\s+", "-")
+                .replaceAll("-+", "-");
+    }
+
+    private static String randomString(Random random, String[] pieces, int maxPieces) {
+        StringBuilder sb = new StringBuilder();
+        int count = random.nextInt(maxPieces + 1);
+        for (int i = 0; i < count; i++) {
+            sb.append(pieces[random.nextInt(pieces.length)]);
+        }
+        return sb.toString();
+    }
+}
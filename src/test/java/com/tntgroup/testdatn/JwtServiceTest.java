@@ -0,0 +1,270 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tntgroup.testdatn.entity.Role;
+import com.tntgroup.testdatn.security.JwtKeyRing;
+import com.tntgroup.testdatn.security.VerifiedToken;
+import com.tntgroup.testdatn.service.JwtService;
+
+/**
+ * Tests for JwtService.verify
+ */
+public class JwtServiceTest {
+
+    private static final String SECRET = "example-secret-key-must-be-at-least-256-bits-long-for-hs256";
+
+    private final JwtService jwtService = new JwtService(SECRET, 60000L);
+
+    @Test
+    @DisplayName("verify(valid token) = VALID with claims")
+    void verify_withValidToken_returnsClaims() {
+        String token = jwtService.generateToken("alice");
+
+        // Act
+        VerifiedToken result = jwtService.verify(token);
+
+        // Assert
+        assertTrue(result.isValid());
+        assertEquals("alice", result.getSubject());
+        assertNotNull(result.getIssuedAt());
+        assertTrue(result.getExpiresAt().isAfter(result.getIssuedAt()));
+        assertNull(result.getFailureReason());
+    }
+
+    @Test
+    @DisplayName("role claim: ADMIN round-trips, plain users carry no claim")
+    void verify_roleClaim_roundTrips() {
+        String adminToken = jwtService.generateToken("root", Role.ADMIN);
+        String userToken = jwtService.generateToken("alice", Role.USER);
+
+        // Act
+        VerifiedToken admin = jwtService.verify(adminToken);
+        VerifiedToken user = jwtService.verify(userToken);
+
+        // Assert
+        assertEquals(Role.ADMIN, admin.getRole());
+        assertEquals(Role.USER, user.getRole());
+        assertEquals(jwtService.generateToken("alice").length(), userToken.length());
+    }
+
+    @Test
+    @DisplayName("verify(expired token) = EXPIRED with subject")
+    void verify_withExpiredToken_returnsExpired() {
+        String token = new JwtService(SECRET, -1000L).generateToken("alice");
+
+        // Act
+        VerifiedToken result = jwtService.verify(token);
+
+        // Assert
+        assertEquals(VerifiedToken.Status.EXPIRED, result.getStatus());
+        assertEquals("alice", result.getSubject());
+        assertFalse(jwtService.isTokenValid(token, "alice"));
+    }
+
+    @Test
+    @DisplayName("verify(token signed with other key) = BAD_SIGNATURE")
+    void verify_withForeignSignature_returnsBadSignature() {
+        String token = new JwtService(SECRET.replace("example", "another"), 60000L).generateToken("alice");
+
+        // Act
+        VerifiedToken result = jwtService.verify(token);
+
+        // Assert
+        assertEquals(VerifiedToken.Status.BAD_SIGNATURE, result.getStatus());
+        assertNull(result.getSubject());
+    }
+
+    @Test
+    @DisplayName("verify(garbage) = MALFORMED")
+    void verify_withGarbage_returnsMalformed() {
+        assertEquals(VerifiedToken.Status.MALFORMED, jwtService.verify("not-a-jwt").getStatus());
+        assertEquals(VerifiedToken.Status.MALFORMED, jwtService.verify(null).getStatus());
+        assertEquals(VerifiedToken.Status.MALFORMED, jwtService.verify(" ").getStatus());
+    }
+
+    @Test
+    @DisplayName("isTokenValid checks subject")
+    void isTokenValid_withOtherUser_returnsFalse() {
+        String token = jwtService.generateToken("alice");
+
+        assertTrue(jwtService.isTokenValid(token, "alice"));
+        assertFalse(jwtService.isTokenValid(token, "bob"));
+    }
+
+    @Test
+    @DisplayName("verify(ES256/EdDSA token) = VALID with kid in JWKS")
+    void verify_withAsymmetricKeys_returnsValid() {
+        for (JwtKeyRing.Algorithm algorithm : new JwtKeyRing.Algorithm[] { JwtKeyRing.Algorithm.ES256,
+                JwtKeyRing.Algorithm.EdDSA }) {
+            JwtKeyRing keyRing = new JwtKeyRing(algorithm, SECRET, 60000L, 0L, Clock.systemUTC());
+            JwtService service = new JwtService(keyRing, 60000L);
+
+            // Act
+            String token = service.generateToken("alice");
+            VerifiedToken result = service.verify(token);
+
+            // Assert
+            assertTrue(result.isValid(), algorithm.name());
+            assertTrue(keyRing.jwksJson().contains(keyRing.activeKeyId()));
+            assertEquals(VerifiedToken.Status.BAD_SIGNATURE, jwtService.verify(token).getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("rotate publishes the next key a full JWKS max-age before it signs")
+    void rotate_publishesNextKeyBeforeActivating() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        JwtKeyRing keyRing = new JwtKeyRing(JwtKeyRing.Algorithm.ES256, SECRET, 60000L, 0L, clock);
+        String firstKeyId = keyRing.activeKeyId();
+
+        // Act
+        keyRing.rotate();
+        String nextKeyId = keyRing.nextKeyId();
+        clock.advance(JwtKeyRing.JWKS_MAX_AGE.minusSeconds(1));
+        keyRing.maintain();
+        String activeBeforeMaxAge = keyRing.activeKeyId();
+        clock.advance(Duration.ofSeconds(1));
+        keyRing.maintain();
+
+        // Assert
+        assertNotEquals(firstKeyId, nextKeyId);
+        assertTrue(keyRing.jwksJson().contains(nextKeyId));
+        assertEquals(firstKeyId, activeBeforeMaxAge);
+        assertEquals(nextKeyId, keyRing.activeKeyId());
+        assertNull(keyRing.nextKeyId());
+    }
+
+    @Test
+    @DisplayName("rotate keeps old tokens valid until their key retires")
+    void rotate_keepsPreviousKeyForVerification() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        JwtKeyRing keyRing = new JwtKeyRing(JwtKeyRing.Algorithm.ES256, SECRET, 60000L, 0L, clock);
+        JwtService service = new JwtService(keyRing, 60000L);
+        String oldToken = service.generateToken("alice");
+        String oldKeyId = keyRing.activeKeyId();
+
+        // Act
+        keyRing.rotate();
+        clock.advance(JwtKeyRing.JWKS_MAX_AGE);
+        keyRing.maintain();
+        String newToken = service.generateToken("alice");
+
+        // Assert
+        assertNotEquals(oldKeyId, keyRing.activeKeyId());
+        assertTrue(service.verify(oldToken).isValid());
+        assertTrue(service.verify(newToken).isValid());
+        assertTrue(keyRing.jwksJson().contains(oldKeyId));
+
+        clock.advance(Duration.ofMillis(60000L));
+        keyRing.maintain();
+        assertFalse(keyRing.jwksJson().contains(oldKeyId));
+    }
+
+    @Test
+    @DisplayName("keystore keys: every entry published, the active alias signs, other rings verify")
+    void keyStore_sharedAcrossRings_verifies(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("jwt.p12");
+        generateKeyPair(file, "2025-01");
+        generateKeyPair(file, "2025-02");
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(file)) {
+            keyStore.load(in, "changeit".toCharArray());
+        }
+        JwtKeyRing signer = new JwtKeyRing(JwtKeyRing.Algorithm.ES256, 60000L, keyStore, "changeit".toCharArray(),
+                "2025-02", Clock.systemUTC());
+        JwtKeyRing otherNode = new JwtKeyRing(JwtKeyRing.Algorithm.ES256, 60000L, keyStore,
+                "changeit".toCharArray(), "2025-01", Clock.systemUTC());
+
+        // Act
+        String token = new JwtService(signer, 60000L).generateToken("alice");
+        VerifiedToken result = new JwtService(otherNode, 60000L).verify(token);
+
+        // Assert
+        assertTrue(result.isValid());
+        assertNotEquals(signer.activeKeyId(), otherNode.activeKeyId());
+        assertEquals(signer.jwksJson(), otherNode.jwksJson());
+        assertThrows(IllegalStateException.class, signer::rotate);
+        assertEquals(signer.activeKeyId(), new JwtKeyRing(JwtKeyRing.Algorithm.ES256, 60000L, keyStore,
+                "changeit".toCharArray(), "", Clock.systemUTC()).activeKeyId());
+        assertThrows(IllegalArgumentException.class, () -> new JwtKeyRing(JwtKeyRing.Algorithm.ES256, 60000L,
+                keyStore, "changeit".toCharArray(), "2024-12", Clock.systemUTC()));
+    }
+
+    @Test
+    @DisplayName("keystore reload: a new entry is published a JWKS max-age before it signs, removed ones retire")
+    void keyStore_reloadWithNewEntry_rotatesWithoutRestart(@TempDir Path dir) throws Exception {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        Path file = dir.resolve("jwt.p12");
+        generateKeyPair(file, "2025-01");
+        JwtKeyRing keyRing = new JwtKeyRing(JwtKeyRing.Algorithm.ES256, 60000L, loadKeyStore(file),
+                "changeit".toCharArray(), "", clock);
+        JwtService service = new JwtService(keyRing, 60000L);
+        String oldKeyId = keyRing.activeKeyId();
+        String oldToken = service.generateToken("alice");
+
+        // Act
+        generateKeyPair(file, "2025-02");
+        keyRing.reload(loadKeyStore(file));
+        String nextKeyId = keyRing.nextKeyId();
+        String signingBeforeMaxAge = keyRing.activeKeyId();
+        clock.advance(JwtKeyRing.JWKS_MAX_AGE);
+        keyRing.maintain();
+        deleteEntry(file, "2025-01");
+        keyRing.reload(loadKeyStore(file));
+
+        // Assert
+        assertNotNull(nextKeyId);
+        assertEquals(oldKeyId, signingBeforeMaxAge);
+        assertEquals(nextKeyId, keyRing.activeKeyId());
+        assertTrue(service.verify(oldToken).isValid());
+        assertTrue(keyRing.jwksJson().contains(oldKeyId));
+
+        clock.advance(Duration.ofMillis(60000L));
+        keyRing.maintain();
+        assertFalse(keyRing.jwksJson().contains(oldKeyId));
+        assertTrue(keyRing.jwksJson().contains(nextKeyId));
+    }
+
+    private static KeyStore loadKeyStore(Path file) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(file)) {
+            keyStore.load(in, "changeit".toCharArray());
+        }
+        return keyStore;
+    }
+
+    private static void deleteEntry(Path keyStore, String alias) throws Exception {
+        Process keytool = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-delete", "-keystore", keyStore.toString(), "-storetype", "PKCS12", "-storepass", "changeit",
+                "-alias", alias)
+                .redirectErrorStream(true)
+                .start();
+        assertTrue(keytool.waitFor(60, TimeUnit.SECONDS));
+        assertEquals(0, keytool.exitValue(), new String(keytool.getInputStream().readAllBytes()));
+    }
+
+    private static void generateKeyPair(Path keyStore, String alias) throws Exception {
+        Process keytool = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-keystore", keyStore.toString(), "-storetype", "PKCS12", "-storepass", "changeit",
+                "-alias", alias, "-keyalg", "EC", "-groupname", "secp256r1", "-dname", "CN=" + alias,
+                "-validity", "1")
+                .redirectErrorStream(true)
+                .start();
+        assertTrue(keytool.waitFor(60, TimeUnit.SECONDS));
+        assertEquals(0, keytool.exitValue(), new String(keytool.getInputStream().readAllBytes()));
+    }
+}
@@ -0,0 +1,152 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.service.KeyBatchService;
+import com.tntgroup.testdatn.service.KeyBatchService.Format;
+import com.tntgroup.testdatn.service.KeyBatchService.KeyType;
+import com.tntgroup.testdatn.utils.KeyGeneratorUtils;
+import com.tntgroup.testdatn.utils.KeyGeneratorUtils.PooledKey;
+import com.tntgroup.testdatn.utils.PregeneratedKeyPool;
+
+/**
+ * Tests for KeyBatchService
+ */
+public class KeyBatchServiceTest {
+
+    private final KeyBatchService service = new KeyBatchService(2, 100, 2, 1_000_000, 512);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("stream(text) = count distinct keys, one per line, across chunk boundaries")
+    void stream_text_writesOneKeyPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = service.stream(KeyType.ALPHANUMERIC, 24, 1050, Format.TEXT, out);
+
+        // Assert
+        List<String> lines = out.toString(StandardCharsets.US_ASCII).lines().toList();
+        assertEquals(1050, written);
+        assertEquals(1050, lines.size());
+        assertEquals(1050, new HashSet<>(lines).size());
+        assertTrue(lines.stream().allMatch(line -> line.matches("[A-Za-z0-9]{24}")));
+    }
+
+    @Test
+    @DisplayName("stream(ndjson, url-safe) = one JSON object per line")
+    void stream_ndjson_writesJsonLines() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        service.stream(KeyType.URL_SAFE, 32, 10, Format.NDJSON, out);
+
+        // Assert
+        List<String> lines = out.toString(StandardCharsets.US_ASCII).lines().toList();
+        assertEquals(10, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.matches("\\{\"key\":\"[A-Za-z0-9_-]{43}\"}")));
+    }
+
+    @Test
+    @DisplayName("stream(base64, uuid) = keys of the usual encoded length")
+    void stream_base64AndUuid_matchSingleKeyFormat() throws IOException {
+        ByteArrayOutputStream base64 = new ByteArrayOutputStream();
+        ByteArrayOutputStream uuid = new ByteArrayOutputStream();
+
+        // Act
+        service.stream(KeyType.BASE64, 10, 3, Format.TEXT, base64);
+        service.stream(KeyType.UUID, 0, 3, Format.TEXT, uuid);
+
+        // Assert
+        assertTrue(base64.toString(StandardCharsets.US_ASCII).lines()
+                .allMatch(line -> line.matches("[A-Za-z0-9+/]{14}==")));
+        assertTrue(uuid.toString(StandardCharsets.US_ASCII).lines().allMatch(line -> line.matches("[0-9a-f]{32}")));
+    }
+
+    @Test
+    @DisplayName("stream(uuid-v7, ulid) = time-ordered ids of the single-key format")
+    void stream_uuidV7AndUlid_matchSingleKeyFormat() throws IOException {
+        ByteArrayOutputStream uuidV7 = new ByteArrayOutputStream();
+        ByteArrayOutputStream ulid = new ByteArrayOutputStream();
+
+        // Act
+        service.stream(KeyType.of("uuid-v7"), 0, 250, Format.TEXT, uuidV7);
+        service.stream(KeyType.of("ULID"), 0, 250, Format.TEXT, ulid);
+
+        // Assert
+        List<String> uuids = uuidV7.toString(StandardCharsets.US_ASCII).lines().toList();
+        List<String> ulids = ulid.toString(StandardCharsets.US_ASCII).lines().toList();
+        assertEquals(250, uuids.size());
+        assertEquals(250, ulids.size());
+        assertTrue(uuids.stream()
+                .allMatch(line -> line.matches("[0-9a-f]{8}-[0-9a-f]{4}-7[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}")));
+        assertTrue(ulids.stream().allMatch(line -> line.matches("[0-9A-HJKMNP-TV-Z]{26}")));
+        assertEquals(250, new HashSet<>(uuids).size());
+    }
+
+    @Test
+    @DisplayName("stream(uuid) = generated inline, the single-key pool is left alone")
+    void stream_uuid_bypassesPregeneratedPool() throws IOException {
+        PregeneratedKeyPool pool = KeyGeneratorUtils.newPregeneratedPool(PooledKey.UUID, 16, 4);
+        KeyGeneratorUtils.usePregeneratedPool(PooledKey.UUID, pool);
+        try {
+            // Act
+            service.stream(KeyType.UUID, 0, 1000, Format.TEXT, OutputStream.nullOutputStream());
+
+            // Assert
+            assertEquals(0, pool.hitCount());
+            assertEquals(0, pool.fallbackCount());
+        } finally {
+            KeyGeneratorUtils.usePregeneratedPool(PooledKey.UUID, null);
+        }
+    }
+
+    @Test
+    @DisplayName("unknown key type = IllegalArgumentException")
+    void of_unknownType_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> KeyType.of("uuid4"));
+        assertThrows(IllegalArgumentException.class, () -> KeyType.of(""));
+        assertEquals(KeyType.URL_SAFE, KeyType.of("URL-SAFE"));
+    }
+
+    @Test
+    @DisplayName("count over the limit = IllegalArgumentException")
+    void stream_countTooLarge_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.stream(KeyType.HEX, 32, 1_000_001, Format.TEXT, OutputStream.nullOutputStream()));
+    }
+
+    @Test
+    @DisplayName("failing client = IOException and no further chunks")
+    void stream_whenWriteFails_stops() {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act + Assert
+        assertThrows(IOException.class, () -> service.stream(KeyType.HEX, 32, 100_000, Format.TEXT, broken));
+    }
+}
@@ -0,0 +1,106 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.utils.KeyGeneratorUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for KeyGeneratorUtils alphabet encoding
+ */
+public class KeyGeneratorUtilsTest {
+
+    @Test
+    @DisplayName("generateAlphanumericKey(4096) = alphanumeric characters only")
+    void generateAlphanumericKey_long_usesAlphabetOnly() {
+        // Act
+        String key = KeyGeneratorUtils.generateAlphanumericKey(4096);
+
+        // Assert
+        assertEquals(4096, key.length());
+        assertTrue(key.matches("[A-Za-z0-9]+"));
+    }
+
+    @Test
+    @DisplayName("generateHexKey(odd length) = lowercase hex of that length")
+    void generateHexKey_oddLength_returnsHex() {
+        // Act
+        String key = KeyGeneratorUtils.generateHexKey(33);
+
+        // Assert
+        assertEquals(33, key.length());
+        assertTrue(key.matches("[0-9a-f]+"));
+    }
+
+    @Test
+    @DisplayName("every alphanumeric character is about equally likely")
+    void generateAlphanumericKey_distribution_isUniform() {
+        int samples = 62 * 10_000;
+        int[] counts = new int[128];
+
+        // Act
+        for (char c : KeyGeneratorUtils.generateAlphanumericKey(samples).toCharArray()) {
+            counts[c]++;
+        }
+
+        // Assert: chi-square with 61 degrees of freedom; 120 is far beyond p = 0.0001
+        double expected = samples / 62.0;
+        double chiSquare = 0;
+        int seen = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                seen++;
+                chiSquare += (count - expected) * (count - expected) / expected;
+            }
+        }
+        assertEquals(62, seen);
+        assertTrue(chiSquare < 120, "chi-square " + chiSquare);
+    }
+
+    @Test
+    @DisplayName("fillHex writes only the requested range")
+    void fillHex_range_leavesRestUntouched() {
+        char[] buffer = "----------".toCharArray();
+
+        // Act
+        KeyGeneratorUtils.fillHex(buffer, 2, 5);
+
+        // Assert
+        String result = new String(buffer);
+        assertTrue(result.matches("--[0-9a-f]{5}---"), result);
+    }
+
+    @Test
+    @DisplayName("fillAlphanumeric past the end = IndexOutOfBoundsException")
+    void fillAlphanumeric_outOfRange_throwsException() {
+        assertThrows(IndexOutOfBoundsException.class, () -> KeyGeneratorUtils.fillAlphanumeric(new char[4], 2, 3));
+    }
+
+    @Test
+    @DisplayName("generateApiKey(prefix) = prefix_ plus random part")
+    void generateApiKey_withPrefix_keepsPrefix() {
+        // Act
+        String key = KeyGeneratorUtils.generateApiKey("live", 24);
+
+        // Assert
+        assertTrue(key.matches("live_[A-Za-z0-9]{24}"), key);
+    }
+
+    @Test
+    @DisplayName("meterBinder registers the generator meters on the given registry")
+    void meterBinder_bound_recordsGeneration() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        KeyGeneratorUtils.meterBinder().bindTo(registry);
+
+        // Act
+        KeyGeneratorUtils.generateHexKey(16);
+
+        // Assert
+        assertEquals(1, registry.get("keygen.generate").tags("type", "hex", "outcome", "success").timer().count());
+        assertEquals(16, registry.get("keygen.size").tag("type", "hex").summary().totalAmount());
+    }
+}
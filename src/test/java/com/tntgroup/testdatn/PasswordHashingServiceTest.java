@@ -0,0 +1,140 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.tntgroup.testdatn.exception.ServerBusyException;
+import com.tntgroup.testdatn.service.PasswordHashingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for PasswordHashingService
+ */
+public class PasswordHashingServiceTest {
+
+    @Test
+    @DisplayName("encode then matches on the hashing pool")
+    void encode_thenMatches_returnsTrue() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(4), registry, 2, 8, 1);
+
+        // Act
+        String hash = service.encode("Passw0rdX");
+
+        // Assert
+        assertTrue(service.matches("Passw0rdX", hash));
+        assertFalse(service.matches("wrong", hash));
+        assertEquals(1, registry.get("password.hash.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("password.hash.queue.wait").tag("operation", "matches").timer().count());
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("full queue = ServerBusyException with Retry-After")
+    void encode_whenQueueFull_failsFast() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingService(blockingEncoder(started, release),
+                registry, 1, 1, 3);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        // Act: one task running, one queued, the third is shed
+        callers.submit(() -> service.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> service.encode("b"));
+        waitForQueued(registry);
+        ServerBusyException error = assertThrows(ServerBusyException.class, () -> service.encode("c"));
+
+        // Assert
+        assertEquals(3, error.getRetryAfterSeconds());
+        release.countDown();
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("encodeBulk: never shed, at most bulk-threads hashes at once")
+    void encodeBulk_manyCallers_cappedAndNeverShed() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        PasswordEncoder slowEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        PasswordHashingService service = new PasswordHashingService(slowEncoder, new SimpleMeterRegistry(),
+                1, 1, 1, 2);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act: eight callers against a one-slot queue
+        for (int i = 0; i < 8; i++) {
+            String password = "p" + i;
+            results.add(callers.submit(() -> service.encodeBulk(password)));
+        }
+
+        // Assert
+        for (int i = 0; i < 8; i++) {
+            assertEquals("p" + i, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertTrue(maxRunning.get() <= 2, "ran " + maxRunning.get() + " at once");
+        callers.shutdown();
+        service.shutdown();
+    }
+
+    private static void waitForQueued(SimpleMeterRegistry registry) throws InterruptedException {
+        for (int i = 0; i < 500 && registry.get("password.hash.queue.size").gauge().value() < 1; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.utils.PregeneratedKeyPool;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for PregeneratedKeyPool
+ */
+public class PregeneratedKeyPoolTest {
+
+    private final AtomicLong generated = new AtomicLong();
+
+    @Test
+    @DisplayName("started pool fills to capacity and serves hits")
+    void take_afterStart_servesPregeneratedKeys() throws InterruptedException {
+        PregeneratedKeyPool pool = newPool(64, 16);
+        pool.start();
+        waitForSize(pool, 64);
+
+        // Act
+        String key = pool.take();
+
+        // Assert
+        assertNotNull(key);
+        assertEquals(1, pool.hitCount());
+        assertEquals(0, pool.fallbackCount());
+        pool.stop();
+    }
+
+    @Test
+    @DisplayName("pool above the refill threshold is not topped up")
+    void take_aboveThreshold_waitsForWatermark() throws InterruptedException {
+        PregeneratedKeyPool pool = newPool(64, 16);
+        pool.start();
+        waitForSize(pool, 64);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            pool.take();
+        }
+        Thread.sleep(300);
+
+        // Assert
+        assertEquals(54, pool.size());
+        assertEquals(64, generated.get());
+
+        // Act
+        for (int i = 0; i < 38; i++) {
+            pool.take();
+        }
+        waitForSize(pool, 64);
+
+        // Assert
+        assertEquals(64, pool.size());
+        assertEquals(64 + 48, generated.get());
+        pool.stop();
+    }
+
+    @Test
+    @DisplayName("empty pool = key generated inline and counted as fallback")
+    void take_whenEmpty_fallsBackInline() {
+        PregeneratedKeyPool pool = newPool(64, 16);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        pool.bindTo(registry);
+
+        // Act
+        String key = pool.take();
+
+        // Assert
+        assertEquals("1", key);
+        assertEquals(1, registry.get("keygen.pool.gets").tags("type", "test", "result", "fallback")
+                .functionCounter().count());
+        assertEquals(0, registry.get("keygen.pool.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("concurrent takers never receive the same key")
+    void take_concurrently_neverDuplicates() throws Exception {
+        PregeneratedKeyPool pool = newPool(256, 64);
+        pool.start();
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService takers = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            takers.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    if (!seen.add(pool.take())) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            });
+        }
+        takers.shutdown();
+        assertTrue(takers.awaitTermination(30, TimeUnit.SECONDS));
+        pool.stop();
+
+        // Assert
+        assertEquals(0, duplicates.get());
+        assertEquals(160_000, seen.size());
+        assertEquals(160_000, pool.hitCount() + pool.fallbackCount());
+    }
+
+    @Test
+    @DisplayName("refill threshold at or above capacity = IllegalArgumentException")
+    void constructor_withThresholdAtCapacity_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> newPool(16, 16));
+    }
+
+    private PregeneratedKeyPool newPool(int capacity, int refillThreshold) {
+        return new PregeneratedKeyPool("test", () -> Long.toString(generated.incrementAndGet()), capacity,
+                refillThreshold);
+    }
+
+    private static void waitForSize(PregeneratedKeyPool pool, int size) throws InterruptedException {
+        for (int i = 0; i < 500 && pool.size() < size; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.tntgroup.testdatn.dto.AuthResponse;
+import com.tntgroup.testdatn.dto.LoginRequest;
+import com.tntgroup.testdatn.dto.RegisterRequest;
+import com.tntgroup.testdatn.repository.ReactiveUserRepository;
+import com.tntgroup.testdatn.security.TokenRevocationStore;
+import com.tntgroup.testdatn.security.VerifiedTokenCache;
+import com.tntgroup.testdatn.service.AuthMetrics;
+import com.tntgroup.testdatn.service.AuthService;
+import com.tntgroup.testdatn.service.CredentialCache;
+import com.tntgroup.testdatn.service.JwtService;
+import com.tntgroup.testdatn.service.PasswordHashingService;
+import com.tntgroup.testdatn.service.ReactiveAuthService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+
+/**
+ * Tests for ReactiveAuthService against an in-memory H2 database over R2DBC
+ */
+public class ReactiveAuthServiceTest {
+
+    private static final String SECRET = "example-secret-key-must-be-at-least-256-bits-long-for-hs256";
+
+    private static final String SCHEMA = "create table users ("
+            + "id bigint auto_increment primary key, "
+            + "username varchar(255) not null, email varchar(255) not null, password varchar(255) not null, "
+            + "phone_number varchar(255), age int, role varchar(16), created_at timestamp, updated_at timestamp, "
+            + "constraint uk_users_username unique (username), constraint uk_users_email unique (email))";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtService jwtService = new JwtService(SECRET, 60000L);
+    private final TokenRevocationStore revocationStore = new TokenRevocationStore(1000, 60000L);
+    private DatabaseClient databaseClient;
+    private PasswordHashingService passwordHashingService;
+    private ReactiveAuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = DatabaseClient.create(
+                ConnectionFactories.get("r2dbc:h2:mem:///reactive-auth;DB_CLOSE_DELAY=-1"));
+        databaseClient.sql(SCHEMA).then().block();
+
+        passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(5), meterRegistry,
+                2, 16, 1);
+        CredentialCache credentialCache = new CredentialCache(1000, 60000L, 60000L);
+        AuthMetrics authMetrics = new AuthMetrics(meterRegistry);
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(1000);
+        AuthService blockingAuthService = new AuthService(null, jwtService, passwordHashingService,
+                revocationStore, tokenCache, credentialCache, authMetrics);
+        authService = new ReactiveAuthService(new ReactiveUserRepository(databaseClient), jwtService,
+                passwordHashingService, credentialCache, authMetrics, blockingAuthService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("drop table users").then().block();
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    @DisplayName("register then login = tokens for the new user")
+    void register_thenLogin_succeeds() {
+        // Act
+        AuthResponse registered = authService.register(registerRequest("alice", "alice@example.com")).block();
+        AuthResponse loggedIn = authService.login(loginRequest("alice", "Passw0rdX")).block();
+
+        // Assert
+        assertEquals("Registration successful", registered.getMessage());
+        assertEquals("Login successful", loggedIn.getMessage());
+        assertEquals("alice", jwtService.verify(loggedIn.getToken()).getSubject());
+        assertEquals(1, meterRegistry.get("auth.requests").tags("operation", "login", "outcome", "success")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("register(duplicate username) = Username already exists")
+    void register_withDuplicateUsername_fails() {
+        authService.register(registerRequest("alice", "alice@example.com")).block();
+
+        // Act
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> authService.register(registerRequest("alice", "other@example.com")).block());
+
+        // Assert
+        assertEquals("Username already exists", error.getMessage());
+        assertEquals(1, meterRegistry.get("auth.requests").tags("operation", "register", "outcome", "duplicate")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("register(invalid email) = Invalid email format")
+    void register_withInvalidEmail_fails() {
+        // Act
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> authService.register(registerRequest("alice", "not-an-email")).block());
+
+        // Assert
+        assertEquals("Invalid email format", error.getMessage());
+    }
+
+    @Test
+    @DisplayName("login(wrong password) = Invalid password")
+    void login_withWrongPassword_fails() {
+        authService.register(registerRequest("alice", "alice@example.com")).block();
+
+        // Act
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> authService.login(loginRequest("alice", "Wr0ngPassword")).block());
+
+        // Assert
+        assertEquals("Invalid password", error.getMessage());
+    }
+
+    @Test
+    @DisplayName("unknown user is cached negatively, then registering clears it")
+    void login_afterRegisteringUnknownUser_succeeds() {
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> authService.login(loginRequest("carol", "Passw0rdX")).block());
+        assertEquals("User not found", error.getMessage());
+
+        // Act
+        authService.register(registerRequest("carol", "carol@example.com")).block();
+        AuthResponse loggedIn = authService.login(loginRequest("carol", "Passw0rdX")).block();
+
+        // Assert
+        assertEquals("carol", loggedIn.getUsername());
+    }
+
+    @Test
+    @DisplayName("login with a cheaper stored hash = rehashed at the current cost")
+    void login_withOutdatedHash_rehashes() {
+        databaseClient.sql("insert into users (username, email, password) values ('dave', 'dave@example.com', :hash)")
+                .bind("hash", new BCryptPasswordEncoder(4).encode("Passw0rdX"))
+                .then().block();
+
+        // Act
+        authService.login(loginRequest("dave", "Passw0rdX")).block();
+
+        // Assert
+        String stored = databaseClient.sql("select password from users where username = 'dave'")
+                .map(row -> row.get("password", String.class))
+                .one().block();
+        assertTrue(stored.startsWith("$2a$05$"));
+    }
+
+    @Test
+    @DisplayName("logout = token revoked")
+    void logout_revokesToken() {
+        String token = authService.register(registerRequest("alice", "alice@example.com")).block().getToken();
+
+        // Act
+        authService.logout(token).block();
+
+        // Assert
+        assertTrue(revocationStore.isRevoked(jwtService.verify(token)));
+    }
+
+    private static RegisterRequest registerRequest(String username, String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setPassword("Passw0rdX");
+        return request;
+    }
+
+    private static LoginRequest loginRequest(String username, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        return request;
+    }
+}
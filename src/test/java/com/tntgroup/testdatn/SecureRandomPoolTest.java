@@ -0,0 +1,71 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.utils.SecureRandomPool;
+
+/**
+ * Tests for SecureRandomPool
+ */
+public class SecureRandomPoolTest {
+
+    @Test
+    @DisplayName("size is rounded up to a power of two")
+    void constructor_roundsSizeUpToPowerOfTwo() {
+        assertEquals(1, new SecureRandomPool("DRBG", 1, 0).size());
+        assertEquals(4, new SecureRandomPool("DRBG", 3, 0).size());
+        assertEquals(8, new SecureRandomPool("DRBG", 8, 0).size());
+    }
+
+    @Test
+    @DisplayName("unknown algorithm = IllegalArgumentException")
+    void constructor_withUnknownAlgorithm_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new SecureRandomPool("NoSuchPRNG", 1, 0));
+    }
+
+    @Test
+    @DisplayName("concurrent draws never repeat")
+    void nextBytes_concurrently_returnsDistinctValues() throws Exception {
+        SecureRandomPool pool = new SecureRandomPool("DRBG", 4, 0);
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            threads.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    byte[] bytes = new byte[16];
+                    pool.nextBytes(bytes);
+                    seen.add(HexFormat.of().formatHex(bytes));
+                }
+            });
+        }
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(8000, seen.size());
+    }
+
+    @Test
+    @DisplayName("reseeding keeps working, even where the algorithm cannot reseed")
+    void apply_withReseedDue_stillGenerates() throws Exception {
+        SecureRandomPool drbg = new SecureRandomPool("DRBG", 1, 1);
+        SecureRandomPool sha1Prng = new SecureRandomPool("SHA1PRNG", 1, 1);
+        Thread.sleep(5);
+
+        // Act + Assert
+        assertEquals(16, drbg.apply(random -> random.generateSeed(16)).length);
+        assertEquals(16, sha1Prng.apply(random -> random.generateSeed(16)).length);
+    }
+}
@@ -0,0 +1,132 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.utils.TimeOrderedIdGenerator;
+
+/**
+ * Tests for TimeOrderedIdGenerator
+ */
+public class TimeOrderedIdGeneratorTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final MutableClock clock = new MutableClock(START);
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(5,
+            () -> ThreadLocalRandom.current().nextLong(), clock);
+
+    @Test
+    @DisplayName("canonical form parses as a version 7 UUID carrying the clock's millis")
+    void fillUuid_canonicalVersion7() {
+        char[] chars = new char[TimeOrderedIdGenerator.UUID_LENGTH];
+
+        // Act
+        generator.fillUuid(chars, 0);
+
+        // Assert
+        String text = new String(chars);
+        UUID uuid = UUID.fromString(text);
+        assertEquals(text, uuid.toString());
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(START.toEpochMilli(), uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    @DisplayName("ids in the same millisecond still sort in generation order")
+    void fillUuidAndUlid_sameMillisecond_strictlyIncreasing() {
+        char[] uuid = new char[TimeOrderedIdGenerator.UUID_LENGTH];
+        char[] ulid = new char[TimeOrderedIdGenerator.ULID_LENGTH];
+        String previousUuid = "";
+        String previousUlid = "";
+
+        // Act & Assert: 10,000 ids overflow the 12-bit counter without breaking order
+        for (int i = 0; i < 10_000; i++) {
+            generator.fillUuid(uuid, 0);
+            generator.fillUlid(ulid, 0);
+            String nextUuid = new String(uuid);
+            String nextUlid = new String(ulid);
+            assertTrue(nextUuid.compareTo(previousUuid) > 0);
+            assertTrue(nextUlid.compareTo(previousUlid) > 0);
+            previousUuid = nextUuid;
+            previousUlid = nextUlid;
+        }
+    }
+
+    @Test
+    @DisplayName("ULID timestamp is the clock's millis in Crockford base32")
+    void fillUlid_timestampPrefix() {
+        char[] chars = new char[TimeOrderedIdGenerator.ULID_LENGTH];
+
+        // Act
+        generator.fillUlid(chars, 0);
+
+        // Assert
+        long millis = 0;
+        for (int i = 0; i < 10; i++) {
+            millis = millis << 5 | "0123456789ABCDEFGHJKMNPQRSTVWXYZ".indexOf(chars[i]);
+        }
+        assertEquals(START.toEpochMilli(), millis);
+        assertTrue(new String(chars).matches("[0-9A-HJKMNP-TV-Z]{26}"));
+    }
+
+    @Test
+    @DisplayName("ids stay increasing when the clock goes backwards")
+    void nextLong_clockBackwards_stillIncreasing() {
+        long first = generator.nextLong();
+        clock.advance(Duration.ofSeconds(-5));
+
+        // Act
+        long second = generator.nextLong();
+
+        // Assert
+        assertTrue(second > first);
+        assertEquals(5, (second >>> 12) & TimeOrderedIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    @DisplayName("concurrent callers never get the same 64-bit id")
+    void nextLong_concurrent_unique() throws Exception {
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    assertTrue(seen.add(generator.nextLong()));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(400_000, seen.size());
+    }
+
+    @Test
+    @DisplayName("node ID outside 0-1023 = IllegalArgumentException")
+    void constructor_nodeIdOutOfRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(1024, () -> 0L, clock));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(-1, () -> 0L, clock));
+    }
+}
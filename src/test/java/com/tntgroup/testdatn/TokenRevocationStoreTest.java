@@ -0,0 +1,131 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.security.TokenRevocationStore;
+
+/**
+ * Tests for TokenRevocationStore
+ */
+public class TokenRevocationStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("isRevoked after revoke = true, others = false")
+    void isRevoked_afterRevoke_returnsTrue() {
+        TokenRevocationStore store = new TokenRevocationStore(1000, 60000L, Clock.fixed(NOW, ZoneOffset.UTC));
+        Instant exp = NOW.plus(Duration.ofHours(1));
+
+        // Act
+        store.revoke("jti-1", exp);
+
+        // Assert
+        assertTrue(store.isRevoked("jti-1", exp));
+        assertFalse(store.isRevoked("jti-2", exp));
+        assertFalse(store.isRevoked(null, exp));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("purgeExpired drops buckets of expired tokens")
+    void purgeExpired_afterExpiry_dropsEntries() {
+        MutableClock clock = new MutableClock(NOW);
+        TokenRevocationStore store = new TokenRevocationStore(1000, 60000L, clock);
+        Instant shortExp = NOW.plus(Duration.ofMinutes(5));
+        Instant longExp = NOW.plus(Duration.ofHours(2));
+        store.revoke("jti-1", shortExp);
+        store.revoke("jti-2", longExp);
+
+        // Act
+        clock.advance(Duration.ofMinutes(10));
+        store.purgeExpired();
+
+        // Assert
+        assertEquals(1, store.size());
+        assertFalse(store.isRevoked("jti-1", shortExp));
+        assertTrue(store.isRevoked("jti-2", longExp));
+    }
+
+    @Test
+    @DisplayName("revoke beyond capacity stays bounded and every revocation still holds")
+    void revoke_beyondCapacity_staysBounded() {
+        TokenRevocationStore store = new TokenRevocationStore(100, 60000L, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act
+        for (int i = 0; i < 10000; i++) {
+            store.revoke("jti-" + i, NOW.plus(Duration.ofMinutes(1 + i % 600)));
+        }
+
+        // Assert
+        assertTrue(store.size() <= 100);
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(store.isRevoked("jti-" + i, NOW.plus(Duration.ofMinutes(1 + i % 600))), "jti-" + i);
+        }
+        // Buckets that were never tombstoned still answer exactly
+        assertFalse(store.isRevoked("jti-other", NOW.plus(Duration.ofHours(20))));
+    }
+
+    @Test
+    @DisplayName("sustained overflow keeps tombstone filters sparse")
+    void revoke_sustainedOverflow_tombstonesStayAccurate() {
+        TokenRevocationStore store = new TokenRevocationStore(100, 60000L, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act
+        for (int i = 0; i < 20000; i++) {
+            store.revoke("jti-" + i, NOW.plus(Duration.ofMinutes(1 + i % 20)));
+        }
+
+        // Assert
+        assertTrue(store.tombstoneFillRatio() > 0);
+        assertTrue(store.tombstoneFillRatio() < 0.6, "fill " + store.tombstoneFillRatio());
+        int falsePositives = 0;
+        for (int i = 0; i < 2000; i++) {
+            if (store.isRevoked("other-" + i, NOW.plus(Duration.ofMinutes(1 + i % 20)))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 100, falsePositives + " false positives");
+        for (int i = 0; i < 20000; i++) {
+            assertTrue(store.isRevoked("jti-" + i, NOW.plus(Duration.ofMinutes(1 + i % 20))), "jti-" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("tombstones expire with their bucket")
+    void purgeExpired_afterTombstonedBucketExpires_forgetsTombstones() {
+        MutableClock clock = new MutableClock(NOW);
+        TokenRevocationStore store = new TokenRevocationStore(10, 60000L, clock);
+        Instant shortExp = NOW.plus(Duration.ofMinutes(5));
+        for (int i = 0; i < 10; i++) {
+            store.revoke("short-" + i, shortExp);
+        }
+        store.revoke("long", NOW.plus(Duration.ofHours(2)));
+        assertTrue(store.isRevoked("short-0", shortExp));
+
+        // Act
+        clock.advance(Duration.ofMinutes(10));
+        store.purgeExpired();
+
+        // Assert
+        assertTrue(store.isRevoked("long", NOW.plus(Duration.ofHours(2))));
+        assertFalse(store.isRevoked("short-0", shortExp));
+    }
+
+    @Test
+    @DisplayName("capacityFor = issue rate x token lifetime")
+    void capacityFor_rateAndLifetime_coversEveryLiveToken() {
+        // Act & Assert
+        assertEquals(86400, TokenRevocationStore.capacityFor(1, 86400000L));
+        assertEquals(1800, TokenRevocationStore.capacityFor(0.5, 3600000L));
+        assertThrows(IllegalArgumentException.class, () -> TokenRevocationStore.capacityFor(0, 3600000L));
+    }
+}
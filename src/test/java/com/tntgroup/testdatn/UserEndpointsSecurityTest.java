@@ -0,0 +1,214 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import com.tntgroup.testdatn.config.SecurityConfig;
+import com.tntgroup.testdatn.controller.UserExportController;
+import com.tntgroup.testdatn.entity.Role;
+import com.tntgroup.testdatn.repository.ApiKeyRepository;
+import com.tntgroup.testdatn.security.TokenRevocationStore;
+import com.tntgroup.testdatn.security.VerifiedTokenCache;
+import com.tntgroup.testdatn.service.ApiKeyService;
+import com.tntgroup.testdatn.service.JwtService;
+import com.tntgroup.testdatn.service.UserExportService;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Tests for the /api/users/** and /actuator/** admin rules in SecurityConfig
+ */
+@SpringJUnitWebConfig(UserEndpointsSecurityTest.Config.class)
+public class UserEndpointsSecurityTest {
+
+    private static final String SECRET = "example-secret-key-must-be-at-least-256-bits-long-for-hs256";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        Config.EXPORTS.maskEmail.set(null);
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    @DisplayName("user token: 403 on /api/users, still allowed elsewhere")
+    void userToken_onUserEndpoints_isForbidden() throws Exception {
+        String token = jwtService.generateToken("alice");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/users/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/users/import").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/keys").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("admin token: allowed on /api/users")
+    void adminToken_onUserEndpoints_isAllowed() throws Exception {
+        String token = jwtService.generateToken("root", Role.ADMIN);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("export: emails masked by default, even for admins")
+    void export_byDefault_masksEmails() throws Exception {
+        String token = jwtService.generateToken("root", Role.ADMIN);
+
+        // Act
+        mockMvc.perform(get("/api/users/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertEquals(Boolean.TRUE, Config.EXPORTS.maskEmail.get());
+    }
+
+    @Test
+    @DisplayName("export: maskEmail=false is 403 for an admin, allowed with the export privilege")
+    void export_unmasked_needsExportPrivilege() throws Exception {
+        String admin = jwtService.generateToken("root", Role.ADMIN);
+        String exporter = jwtService.generateToken("dpo", Role.EXPORTER);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/export").param("maskEmail", "false")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + admin))
+                .andExpect(status().isForbidden());
+        assertNull(Config.EXPORTS.maskEmail.get());
+
+        mockMvc.perform(get("/api/users/export").param("maskEmail", "false")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + exporter))
+                .andExpect(status().isOk());
+        assertEquals(Boolean.FALSE, Config.EXPORTS.maskEmail.get());
+    }
+
+    @Test
+    @DisplayName("metrics: 401 without a token, 403 for a user, allowed for an admin")
+    void prometheus_needsAdmin() throws Exception {
+        String user = jwtService.generateToken("alice");
+        String admin = jwtService.generateToken("root", Role.ADMIN);
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + user))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + admin))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("no token: 401 on /api/users")
+    void noToken_onUserEndpoints_isUnauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users")).andExpect(status().isUnauthorized());
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import(SecurityConfig.class)
+    static class Config {
+
+        // Not a bean: its @PersistenceContext field would need an EntityManagerFactory
+        static final RecordingExportService EXPORTS = new RecordingExportService();
+
+        @Bean
+        JwtService jwtService() {
+            return new JwtService(SECRET, 60000L);
+        }
+
+        @Bean
+        VerifiedTokenCache verifiedTokenCache() {
+            return new VerifiedTokenCache(100);
+        }
+
+        @Bean
+        TokenRevocationStore tokenRevocationStore() {
+            return new TokenRevocationStore(100, 60000L, Clock.systemUTC());
+        }
+
+        @Bean
+        ApiKeyService apiKeyService() {
+            // No keys stored: every finder returns nothing
+            ApiKeyRepository repository = (ApiKeyRepository) Proxy.newProxyInstance(
+                    ApiKeyRepository.class.getClassLoader(), new Class<?>[] { ApiKeyRepository.class },
+                    (proxy, method, args) -> List.class.isAssignableFrom(method.getReturnType()) ? List.of()
+                            : Optional.class.equals(method.getReturnType()) ? Optional.empty() : null);
+            return new ApiKeyService(repository, 32);
+        }
+
+        @Bean
+        EndpointStub endpointStub() {
+            return new EndpointStub();
+        }
+
+        @Bean
+        UserExportController userExportController() {
+            return new UserExportController(EXPORTS);
+        }
+    }
+
+    /**
+     * Records the masking flag instead of reading the database
+     */
+    static class RecordingExportService extends UserExportService {
+        final AtomicReference<Boolean> maskEmail = new AtomicReference<>();
+
+        RecordingExportService() {
+            super(null, JsonMapper.builder().build(), 1);
+        }
+
+        @Override
+        public long export(OutputStream out, boolean maskEmail) {
+            this.maskEmail.set(maskEmail);
+            return 0;
+        }
+    }
+
+    @RestController
+    static class EndpointStub {
+
+        @GetMapping({ "/api/users", "/api/keys", "/actuator/prometheus", "/actuator/health" })
+        String ok() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.repository.UserRepository;
+import com.tntgroup.testdatn.service.UserExportService;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Tests for UserExportService against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "users.export.fetch-size=2" })
+@Import({ UserExportService.class, UserExportServiceTest.Config.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserExportServiceTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        JsonMapper jsonMapper() {
+            return JsonMapper.builder().build();
+        }
+    }
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("export writes one JSON line per user, in id order, without passwords")
+    void export_users_oneLineEach() {
+        saveUser("alice");
+        saveUser("bob");
+        saveUser("carol");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = userExportService.export(out, false);
+
+        // Assert
+        List<JsonNode> lines = parseLines(out);
+        assertEquals(3, count);
+        assertEquals(List.of("alice", "bob", "carol"),
+                lines.stream().map(line -> line.get("username").asString()).toList());
+        assertEquals("alice@example.com", lines.get(0).get("email").asString());
+        assertTrue(lines.stream().noneMatch(line -> line.has("password")));
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+    }
+
+    @Test
+    @DisplayName("export with maskEmail masks every address")
+    void export_maskEmail_masks() {
+        saveUser("alice");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        userExportService.export(out, true);
+
+        // Assert
+        assertEquals("a***e@example.com", parseLines(out).get(0).get("email").asString());
+    }
+
+    @Test
+    @DisplayName("export of empty table writes nothing")
+    void export_empty_writesNothing() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = userExportService.export(out, false);
+
+        // Assert
+        assertEquals(0, count);
+        assertEquals(0, out.size());
+    }
+
+    private List<JsonNode> parseLines(ByteArrayOutputStream out) {
+        return out.toString(StandardCharsets.UTF_8).lines().map(jsonMapper::readTree).toList();
+    }
+
+    private void saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hash");
+        userRepository.save(user);
+    }
+}
@@ -0,0 +1,203 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tntgroup.testdatn.dto.ImportSummary;
+import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.repository.UserBatchRepository;
+import com.tntgroup.testdatn.repository.UserRepository;
+import com.tntgroup.testdatn.service.CredentialCache;
+import com.tntgroup.testdatn.service.PasswordHashingService;
+import com.tntgroup.testdatn.service.UserImportService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Tests for UserImportService against an in-memory database
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "users.import.threads=2",
+        "users.import.batch-size=3",
+        "users.import.max-in-flight-batches=2" })
+@Import({ UserImportService.class, UserBatchRepository.class, CredentialCache.class,
+        UserImportServiceTest.Config.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserImportServiceTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+
+        @Bean
+        PasswordHashingService passwordHashingService(PasswordEncoder passwordEncoder) {
+            return new PasswordHashingService(passwordEncoder, new SimpleMeterRegistry(), 2, 8, 1, 1);
+        }
+
+        @Bean
+        JsonMapper jsonMapper() {
+            return JsonMapper.builder().build();
+        }
+    }
+
+    /**
+     * Records listener calls
+     */
+    static class Recorder implements UserImportService.Listener {
+        final List<String> errors = new ArrayList<>();
+        final List<Long> checkpoints = new ArrayList<>();
+
+        @Override
+        public void rowFailed(long row, String username, String error) {
+            errors.add(row + ":" + error);
+        }
+
+        @Override
+        public void checkpoint(long rows) {
+            checkpoints.add(rows);
+        }
+    }
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("CSV import inserts valid rows and reports invalid ones with row numbers")
+    void importUsers_csv_insertsValidRows() throws IOException {
+        String csv = """
+                email,username,password,phoneNumber,age
+                alice@example.com,alice,Passw0rdA,0912345678,30
+                bob@example,bob,Passw0rdB,,
+                "carol, jr@example.com",carol,Passw0rdC,,
+                dave@example.com,dave,Passw0rdD,,abc
+
+                erin@example.com,erin,Passw0rdE,,
+                """;
+        Recorder recorder = new Recorder();
+
+        // Act
+        ImportSummary summary = userImportService.importUsers(new StringReader(csv),
+                UserImportService.Format.CSV, 0, recorder);
+
+        // Assert
+        assertEquals(5, summary.getRows());
+        assertEquals(2, summary.getImported());
+        assertEquals(3, summary.getFailed());
+        assertEquals(List.of("2:Invalid email format", "3:Invalid email format", "4:Invalid age"), recorder.errors);
+        assertEquals(List.of(3L, 5L), recorder.checkpoints);
+        User alice = userRepository.findByUsername("alice").orElseThrow();
+        assertTrue(passwordEncoder.matches("Passw0rdA", alice.getPassword()));
+        assertEquals("0912345678", alice.getPhoneNumber());
+        assertEquals(30, alice.getAge());
+        assertNotNull(alice.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("NDJSON import rejects duplicates within the file and against existing users")
+    void importUsers_ndjsonDuplicates_rejected() throws IOException {
+        User existing = new User();
+        existing.setUsername("alice");
+        existing.setEmail("alice@example.com");
+        existing.setPassword("hash");
+        userRepository.save(existing);
+        String ndjson = """
+                {"username":"alice","email":"other@example.com","password":"Passw0rdA"}
+                {"username":"bob","email":"bob@example.com","password":"Passw0rdB"}
+                {"username":"bobby","email":"bob@example.com","password":"Passw0rdB"}
+                {"username":"carol","email":"carol@example.com","password":"Passw0rdC"}
+                {not json
+                {"username":"carol","email":"carol2@example.com","password":"Passw0rdC"}
+                """;
+        Recorder recorder = new Recorder();
+
+        // Act
+        ImportSummary summary = userImportService.importUsers(new StringReader(ndjson),
+                UserImportService.Format.NDJSON, 0, recorder);
+
+        // Assert
+        assertEquals(2, summary.getImported());
+        assertEquals(List.of("1:Username already exists", "3:Email already exists",
+                "5:Malformed JSON", "6:Username already exists"), recorder.errors);
+        assertEquals(3, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("email longer than the column = length error, not a duplicate")
+    void importUsers_overlongEmail_reportedAsLengthError() throws IOException {
+        String ndjson = "{\"username\":\"dave\",\"email\":\"" + "d".repeat(250)
+                + "@example.com\",\"password\":\"Passw0rdD\"}\n";
+        Recorder recorder = new Recorder();
+
+        // Act
+        ImportSummary summary = userImportService.importUsers(new StringReader(ndjson),
+                UserImportService.Format.NDJSON, 0, recorder);
+
+        // Assert
+        assertEquals(0, summary.getImported());
+        assertEquals(List.of("1:Email must be at most 255 characters"), recorder.errors);
+    }
+
+    @Test
+    @DisplayName("skip resumes after the last checkpoint")
+    void importUsers_skip_resumes() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 7; i++) {
+            ndjson.append("{\"username\":\"user").append(i).append("\",\"email\":\"user").append(i)
+                    .append("@example.com\",\"password\":\"Passw0rd").append(i).append("\"}\n");
+        }
+        Recorder recorder = new Recorder();
+
+        // Act
+        ImportSummary summary = userImportService.importUsers(new StringReader(ndjson.toString()),
+                UserImportService.Format.NDJSON, 3, recorder);
+
+        // Assert
+        assertEquals(3, summary.getSkipped());
+        assertEquals(4, summary.getImported());
+        assertEquals(List.of(6L, 7L), recorder.checkpoints);
+        assertTrue(userRepository.findByUsername("user3").isEmpty());
+        assertTrue(userRepository.findByUsername("user4").isPresent());
+    }
+
+    @Test
+    @DisplayName("CSV without required header columns = rejected")
+    void importUsers_csvMissingColumns_throws() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> userImportService.importUsers(
+                new StringReader("username,email\nalice,alice@example.com\n"),
+                UserImportService.Format.CSV, 0, new Recorder()));
+    }
+}
@@ -0,0 +1,170 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tntgroup.testdatn.dto.UserPage;
+import com.tntgroup.testdatn.dto.UserResponse;
+import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.repository.UserBatchRepository;
+import com.tntgroup.testdatn.repository.UserRepository;
+import com.tntgroup.testdatn.service.UserListingService;
+
+/**
+ * Tests for keyset pagination in UserListingService
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.tntgroup.testdatn.UserListingServiceTest$LastQuery" })
+@Import({ UserListingService.class, UserBatchRepository.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserListingServiceTest {
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    /**
+     * Remembers the last SQL Hibernate ran against the users table
+     */
+    public static class LastQuery implements StatementInspector {
+        static volatile String sql;
+
+        @Override
+        public String inspect(String statement) {
+            if (statement.startsWith("select") && statement.contains("users")) {
+                sql = statement;
+            }
+            return statement;
+        }
+    }
+
+    @Autowired
+    private UserListingService userListingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserBatchRepository userBatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    @DisplayName("following nextCursor visits every user once, in (createdAt, id) order")
+    void list_followCursor_visitsAllInOrder() {
+        seed(250);
+        List<UserResponse> seen = new ArrayList<>();
+        String cursor = null;
+
+        // Act
+        do {
+            UserPage page = userListingService.list(cursor, 40);
+            seen.addAll(page.getUsers());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Assert
+        Set<Long> ids = new HashSet<>();
+        seen.forEach(user -> ids.add(user.getId()));
+        assertEquals(250, seen.size());
+        assertEquals(250, ids.size());
+        for (int i = 1; i < seen.size(); i++) {
+            UserResponse previous = seen.get(i - 1);
+            UserResponse current = seen.get(i);
+            int byTime = previous.getCreatedAt().compareTo(current.getCreatedAt());
+            assertTrue(byTime < 0 || (byTime == 0 && previous.getId() < current.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("page near the end of a large table scans as many index rows as page 2; OFFSET does not")
+    void list_deepPage_scansSameRowsAsSecondPage() {
+        seed(20_000);
+        UserPage first = userListingService.list(null, 20);
+        // Both cursors sit on the second user of a createdAt pair
+        UserResponse early = first.getUsers().get(19);
+        UserResponse late = UserResponse.of(userRepository.findByUsername("user19001").orElseThrow());
+
+        // Act
+        userListingService.list(first.getNextCursor(), 20);
+        String pageSql = LastQuery.sql;
+        String earlyPlan = explain(pageSql, early.getCreatedAt(), early.getId(), 21);
+        String latePlan = explain(pageSql, late.getCreatedAt(), late.getId(), 21);
+        String offsetPlan = explain("select * from users order by created_at, id offset ? rows fetch first ? rows only",
+                19_002, 21);
+
+        // Assert
+        assertTrue(latePlan.toLowerCase().contains("idx_users_created_at_id"), latePlan);
+        assertTrue(scanCount(earlyPlan) <= 21 + 2, earlyPlan);
+        assertEquals(scanCount(earlyPlan), scanCount(latePlan), latePlan);
+        assertTrue(scanCount(offsetPlan) > 19_000, offsetPlan);
+    }
+
+    @Test
+    @DisplayName("malformed cursor = rejected")
+    void list_badCursor_throws() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> userListingService.list("not-a-cursor", 20));
+        assertThrows(IllegalArgumentException.class, () -> userListingService.list(null, 0));
+    }
+
+    private static int scanCount(String plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        assertTrue(matcher.find(), plan);
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    private String explain(String sql, Object... args) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("explain analyze " + sql, args);
+        return rows.get(0).values().iterator().next().toString();
+    }
+
+    /**
+     * Insert users two per timestamp, so ties on createdAt are broken by id
+     */
+    private void seed(int count) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("hash");
+            user.setCreatedAt(start.plusSeconds(i / 2));
+            user.setUpdatedAt(user.getCreatedAt());
+            batch.add(user);
+            if (batch.size() == 1000) {
+                userBatchRepository.insertAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            userBatchRepository.insertAll(batch);
+        }
+    }
+}
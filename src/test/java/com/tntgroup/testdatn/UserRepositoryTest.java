@@ -0,0 +1,103 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.entity.UserIdGenerator;
+import com.tntgroup.testdatn.repository.UserCredentials;
+import com.tntgroup.testdatn.repository.UserRepository;
+import com.tntgroup.testdatn.utils.TimeOrderedIdGenerator;
+
+/**
+ * Tests for UserRepository custom queries
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("credentials projection returns id, username and hash")
+    void findCredentialsByUsername_existing_returnsProjection() {
+        User user = saveUser("alice", "hash-1");
+
+        // Act
+        Optional<UserCredentials> result = userRepository.findCredentialsByUsername("alice");
+
+        // Assert
+        assertEquals(new UserCredentials(user.getId(), "alice", "hash-1"), result.orElseThrow());
+    }
+
+    @Test
+    @DisplayName("credentials projection for unknown username = empty")
+    void findCredentialsByUsername_unknown_returnsEmpty() {
+        // Act
+        Optional<UserCredentials> result = userRepository.findCredentialsByUsername("ghost");
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @DisplayName("updatePassword replaces only the hash and timestamp")
+    void updatePassword_existing_updatesRow() {
+        User user = saveUser("alice", "hash-1");
+        LocalDateTime updatedAt = LocalDateTime.now().plusMinutes(1);
+
+        // Act
+        int updated = userRepository.updatePassword(user.getId(), "hash-2", updatedAt);
+
+        // Assert
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(1, updated);
+        assertEquals("hash-2", reloaded.getPassword());
+        assertEquals("alice@example.com", reloaded.getEmail());
+        assertEquals(user.getCreatedAt().withNano(0), reloaded.getCreatedAt().withNano(0));
+        assertNotNull(reloaded.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("time-ordered strategy assigns increasing ids before the insert")
+    void save_timeOrderedIds_assignsIncreasingIds() {
+        UserIdGenerator.useTimeOrderedIds(new TimeOrderedIdGenerator(7, () -> 0L, Clock.systemUTC()));
+        try {
+            // Act
+            User first = saveUser("alice", "hash-1");
+            User second = saveUser("bob", "hash-2");
+
+            // Assert
+            assertTrue(second.getId() > first.getId());
+            assertEquals(7, (first.getId() >>> 12) & TimeOrderedIdGenerator.MAX_NODE_ID);
+            assertEquals("alice", userRepository.findById(first.getId()).orElseThrow().getUsername());
+        } finally {
+            UserIdGenerator.useTimeOrderedIds(null);
+        }
+    }
+
+    private User saveUser(String username, String passwordHash) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword(passwordHash);
+        return userRepository.save(user);
+    }
+}
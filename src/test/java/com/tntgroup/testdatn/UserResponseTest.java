@@ -0,0 +1,28 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.dto.UserResponse;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Tests for the UserResponse JSON shape
+ */
+public class UserResponseTest {
+
+    @Test
+    @DisplayName("id above 2^53 is written as an exact string")
+    void serialize_timeOrderedId_writtenAsString() {
+        UserResponse user = UserResponse.builder().id(300_000_000_000_000_123L).username("alice").build();
+
+        // Act
+        String json = JsonMapper.builder().build().writeValueAsString(user);
+
+        // Assert
+        assertTrue(json.contains("\"id\":\"300000000000000123\""), json);
+    }
+}
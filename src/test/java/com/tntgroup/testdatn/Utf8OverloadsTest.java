@@ -0,0 +1,157 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.utils.FormatUtils;
+import com.tntgroup.testdatn.utils.ValidationUtils;
+
+/**
+ * Checks the CharSequence and UTF-8 overloads of ValidationUtils and
+ * FormatUtils against the String versions.
+ */
+public class Utf8OverloadsTest {
+
+    private static final String[] INPUTS = { "", " ", "\t\n", "a@b.co", " user.name+tag@example.com ", "x@y",
+            "@b.co", "a@", "0912345678", "091-234-5678", "+84 912 345 6789", "123", "4111 1111 1111 1111",
+            "4111-1111-1111-1112", "12a", "Hello World", "  Hello   -- World!  ", "Crème Brûlée à la carte",
+            "ÀÉÎ ÕÜ", "İstanbul Iğdır", "ß straße", "emoji 😀 test", "john_doe", "Passw0rd!", "pass",
+            "MiXeD cAsE\tTabs\nLines", "a-b_c.d", "---", "x\u0000y", " nbsp " };
+
+    @Test
+    @DisplayName("CharSequence validators agree with the String versions")
+    void validators_charSequence_matchString() {
+        for (String input : INPUTS) {
+            StringBuilder sb = new StringBuilder(input);
+            assertEquals(ValidationUtils.isValidEmail(input), ValidationUtils.isValidEmail(sb), input);
+            assertEquals(ValidationUtils.isValidPassword(input), ValidationUtils.isValidPassword(sb), input);
+            assertEquals(ValidationUtils.isValidUsername(input), ValidationUtils.isValidUsername(sb), input);
+            assertEquals(ValidationUtils.isValidPhoneNumber(input), ValidationUtils.isValidPhoneNumber(sb), input);
+            assertEquals(ValidationUtils.isValidCreditCard(input), ValidationUtils.isValidCreditCard(sb), input);
+        }
+    }
+
+    @Test
+    @DisplayName("byte slice validators agree with the String versions")
+    void validators_utf8Slice_matchString() {
+        for (String input : INPUTS) {
+            byte[] padded = pad(input);
+            int length = padded.length - 6;
+            ByteBuffer direct = ByteBuffer.allocateDirect(padded.length).put(padded).flip();
+            assertEquals(ValidationUtils.isValidEmail(input), ValidationUtils.isValidEmail(padded, 3, length));
+            assertEquals(ValidationUtils.isValidEmail(input), ValidationUtils.isValidEmail(direct, 3, length));
+            assertEquals(ValidationUtils.isValidPassword(input), ValidationUtils.isValidPassword(padded, 3, length));
+            assertEquals(ValidationUtils.isValidUsername(input), ValidationUtils.isValidUsername(direct, 3, length));
+            assertEquals(ValidationUtils.isValidPhoneNumber(input),
+                    ValidationUtils.isValidPhoneNumber(padded, 3, length));
+            assertEquals(ValidationUtils.isValidCreditCard(input),
+                    ValidationUtils.isValidCreditCard(direct, 3, length));
+            // Position and limit are untouched
+            assertEquals(0, direct.position());
+            assertEquals(padded.length, direct.limit());
+        }
+    }
+
+    @Test
+    @DisplayName("formatters append exactly what the String versions return")
+    void formatters_appendable_matchString() throws IOException {
+        for (String input : INPUTS) {
+            StringBuilder source = new StringBuilder(input);
+            assertEquals(FormatUtils.formatPhoneNumber(input),
+                    FormatUtils.formatPhoneNumber(source, new StringBuilder()).toString(), input);
+            assertEquals(FormatUtils.maskCreditCard(input),
+                    FormatUtils.maskCreditCard(source, new StringBuilder()).toString(), input);
+            assertEquals(FormatUtils.maskEmail(input),
+                    FormatUtils.maskEmail(source, new StringBuilder()).toString(), input);
+            assertEquals(FormatUtils.toSlug(input), FormatUtils.toSlug(source, new StringBuilder()).toString(), input);
+            assertEquals(FormatUtils.toTitleCase(input),
+                    FormatUtils.toTitleCase(source, new StringBuilder()).toString(), input);
+            for (int max = 0; max < 8; max++) {
+                assertEquals(FormatUtils.truncate(input, max),
+                        FormatUtils.truncate(source, max, new StringBuilder()).toString(), input);
+            }
+
+            byte[] padded = pad(input);
+            int length = padded.length - 6;
+            StringBuilder out = new StringBuilder("prefix:");
+            FormatUtils.toSlug(padded, 3, length, out);
+            assertEquals("prefix:" + FormatUtils.toSlug(input), out.toString());
+            out.setLength(0);
+            FormatUtils.maskEmail(ByteBuffer.wrap(padded), 3, length, out);
+            assertEquals(FormatUtils.maskEmail(input), out.toString());
+            out.setLength(0);
+            FormatUtils.truncate(padded, 3, length, 5, out);
+            assertEquals(FormatUtils.truncate(input, 5), out.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("null input appends what the String version returns for null")
+    void formatters_nullInput_matchString() {
+        assertEquals(FormatUtils.formatPhoneNumber(null),
+                FormatUtils.formatPhoneNumber((CharSequence) null, new StringBuilder()).toString());
+        assertEquals(FormatUtils.maskCreditCard(null),
+                FormatUtils.maskCreditCard((CharSequence) null, new StringBuilder()).toString());
+        assertEquals(FormatUtils.maskEmail(null),
+                FormatUtils.maskEmail((CharSequence) null, new StringBuilder()).toString());
+        assertEquals(FormatUtils.toSlug(null), FormatUtils.toSlug((CharSequence) null, new StringBuilder()).toString());
+        assertEquals(FormatUtils.truncate(null, 5),
+                FormatUtils.truncate((CharSequence) null, 5, new StringBuilder()).toString());
+    }
+
+    @Test
+    @DisplayName("malformed UTF-8 decodes like new String(bytes, UTF_8)")
+    void utf8Slice_malformedBytes_matchString() {
+        Random random = new Random(23);
+        byte[] bytes = new byte[24];
+        for (int i = 0; i < 20_000; i++) {
+            random.nextBytes(bytes);
+            int offset = random.nextInt(4);
+            int length = random.nextInt(bytes.length - offset + 1);
+            String decoded = new String(bytes, offset, length, StandardCharsets.UTF_8);
+            StringBuilder out = new StringBuilder();
+            try {
+                FormatUtils.truncate(bytes, offset, length, Integer.MAX_VALUE, out);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            assertEquals(decoded, out.toString());
+            assertEquals(ValidationUtils.isValidUsername(decoded), ValidationUtils.isValidUsername(bytes, offset, length));
+        }
+    }
+
+    @Test
+    @DisplayName("slices outside the array are rejected")
+    void utf8Slice_outOfBounds_throws() {
+        byte[] bytes = "a@b.co".getBytes(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertThrows(IndexOutOfBoundsException.class, () -> ValidationUtils.isValidEmail(bytes, 2, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> ValidationUtils.isValidEmail(bytes, -1, 2));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> ValidationUtils.isValidEmail(ByteBuffer.wrap(bytes).limit(3), 0, 4));
+    }
+
+    /**
+     * The input's UTF-8 with three junk bytes on each side.
+     */
+    private static byte[] pad(String input) {
+        byte[] utf8 = input.getBytes(StandardCharsets.UTF_8);
+        byte[] padded = new byte[utf8.length + 6];
+        padded[0] = (byte) 0xFF;
+        padded[1] = 'x';
+        padded[2] = '@';
+        System.arraycopy(utf8, 0, padded, 3, utf8.length);
+        padded[padded.length - 3] = (byte) 0xC3;
+        padded[padded.length - 2] = '9';
+        padded[padded.length - 1] = ' ';
+        return padded;
+    }
+}
@@ -0,0 +1,96 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.utils.ValidationUtils;
+
+/**
+ * Checks the hand-written email and phone validators against the regex
+ * versions they replaced.
+ */
+public class ValidationUtilsDifferentialTest {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile(
+            "^0[3-9][0-9]{8,9}$");
+
+    private static final String[] EMAIL_PIECES = { "a", "Z", "0", "9", ".", "-", "+", "_", "@", "@b.", "com", "io",
+            " ", "\t", "\n", "\u0000", " ", " ", "é", "#" };
+    private static final String[] PHONE_PIECES = { "0", "1", "3", "9", "09", "091", " ", "\t", "+", "a", " " };
+
+    @Test
+    @DisplayName("email: same verdict as the regex on edge cases")
+    void isValidEmail_edgeCases_matchRegex() {
+        String[] inputs = { null, "", " ", " ", "a@b.co", " a@b.co\t", "a@b.c", "a@.co", "@b.co", "a@b.co.",
+                "a@b..co", "a@-.co", "a@b.c0m", "a@b.co1.uk", "a@b.1co.uk", "a@@b.co", "a.b+c_d-e@x-y.z.museum",
+                "a@b.co ", " a@b.co", "a@b.ét", "a b@c.de", "a@bc", "a@b-c.de-f.gh" };
+        for (String input : inputs) {
+            assertEquals(regex(EMAIL_PATTERN, input), ValidationUtils.isValidEmail(input), "[" + input + "]");
+        }
+    }
+
+    @Test
+    @DisplayName("phone: same verdict as the regex on edge cases")
+    void isValidPhoneNumber_edgeCases_matchRegex() {
+        String[] inputs = { null, "", " ", "0912345678", "09123456789", "091234567", "091234567890", "0212345678",
+                "1912345678", " 0912345678 ", "0912 345678", "+84912345678", "091234567a", " 0912345678" };
+        for (String input : inputs) {
+            assertEquals(regex(PHONE_PATTERN, input), ValidationUtils.isValidPhoneNumber(input), "[" + input + "]");
+        }
+    }
+
+    @Test
+    @DisplayName("email: same verdict as the regex on 500,000 random strings")
+    void isValidEmail_randomInputs_matchRegex() {
+        Random random = new Random(22);
+        int accepted = 0;
+        for (int i = 0; i < 500_000; i++) {
+            String input = randomString(random, EMAIL_PIECES, 12);
+            boolean expected = regex(EMAIL_PATTERN, input);
+            assertEquals(expected, ValidationUtils.isValidEmail(input), "[" + input + "]");
+            accepted += expected ? 1 : 0;
+        }
+        // The alphabet must reach the accepting paths too
+        assertTrue(accepted > 100);
+    }
+
+    @Test
+    @DisplayName("phone: same verdict as the regex on 500,000 random strings")
+    void isValidPhoneNumber_randomInputs_matchRegex() {
+        Random random = new Random(22);
+        int accepted = 0;
+        for (int i = 0; i < 500_000; i++) {
+            String input = randomString(random, PHONE_PIECES, 14);
+            boolean expected = regex(PHONE_PATTERN, input);
+            assertEquals(expected, ValidationUtils.isValidPhoneNumber(input), "[" + input + "]");
+            accepted += expected ? 1 : 0;
+        }
+        assertTrue(accepted > 100);
+    }
+
+    /**
+     * The removed implementation.
+     */
+    private static boolean regex(Pattern pattern, String input) {
+        if (input == null || input.isBlank()) {
+            return false;
+        }
+        return pattern.matcher(input.trim()).matches();
+    }
+
+    private static String randomString(Random random, String[] pieces, int maxPieces) {
+        StringBuilder sb = new StringBuilder();
+        int count = random.nextInt(maxPieces + 1);
+        for (int i = 0; i < count; i++) {
+            sb.append(pieces[random.nextInt(pieces.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package com.tntgroup.testdatn;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.tntgroup.testdatn.security.VerifiedToken;
+import com.tntgroup.testdatn.security.VerifiedTokenCache;
+import com.tntgroup.testdatn.service.JwtService;
+
+/**
+ * Tests for VerifiedTokenCache
+ */
+public class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "example-secret-key-must-be-at-least-256-bits-long-for-hs256";
+
+    private final JwtService jwtService = new JwtService(SECRET, 60000L);
+
+    @Test
+    @DisplayName("get after put = hit")
+    void get_afterPut_returnsCachedToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Clock.systemUTC());
+        String token = jwtService.generateToken("alice");
+
+        // Act
+        VerifiedToken first = cache.get(token);
+        cache.put(token, jwtService.verify(token));
+        VerifiedToken second = cache.get(token);
+
+        // Assert
+        assertNull(first);
+        assertEquals("alice", second.getSubject());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    @DisplayName("get after exp = miss and eviction")
+    void get_afterExpiry_evictsEntry() {
+        MutableClock clock = new MutableClock(Instant.now());
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        String token = jwtService.generateToken("alice");
+        cache.put(token, jwtService.verify(token));
+
+        // Act
+        clock.advance(Duration.ofMinutes(2));
+        VerifiedToken result = cache.get(token);
+
+        // Assert
+        assertNull(result);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    @DisplayName("put(invalid token) is ignored")
+    void put_withInvalidToken_isIgnored() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Clock.systemUTC());
+
+        // Act
+        cache.put("garbage", jwtService.verify("garbage"));
+
+        // Assert
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("size never exceeds max entries")
+    void put_beyondCapacity_staysBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(20, Clock.systemUTC());
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            String token = jwtService.generateToken("user" + i);
+            cache.put(token, jwtService.verify(token));
+        }
+
+        // Assert
+        assertTrue(cache.size() <= 20);
+        assertTrue(cache.evictionCount() > 0);
+    }
+}
@@ -0,0 +1,140 @@
+package com.tntgroup.testdatn.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load against a running server: N clients each send a request,
+ * wait for the answer and send the next. For every N it prints throughput,
+ * p50/p99 latency and the share of non-200 answers, so the highest N that
+ * still meets the latency target is the max sustainable concurrency.
+ *
+ * <pre>
+ * java -cp ... ConcurrencyLoadRunner http://localhost:8081 login 16,64,256 20
+ * </pre>
+ *
+ * Scenarios: {@code login} (BCrypt bound) and {@code list} (GET /api/users, database bound).
+ */
+public class ConcurrencyLoadRunner {
+
+    private static final String USER = "{\"username\":\"loadtest\",\"email\":\"loadtest@example.com\","
+            + "\"password\":\"Passw0rdLoad\"}";
+    private static final String LOGIN = "{\"username\":\"loadtest\",\"password\":\"Passw0rdLoad\"}";
+
+    private record Result(long[] latenciesNanos, int count, int errors) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        String scenario = args.length > 1 ? args[1] : "login";
+        int[] levels = Arrays.stream((args.length > 2 ? args[2] : "8,32,128,256,512").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        Duration duration = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 20);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        send(client, post(baseUrl + "/api/auth/register", USER));
+        String token = send(client, post(baseUrl + "/api/auth/login", LOGIN)).body()
+                .replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+        HttpRequest request = scenario.equals("list")
+                ? HttpRequest.newBuilder(URI.create(baseUrl + "/api/users?size=20"))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(30))
+                        .GET().build()
+                : post(baseUrl + "/api/auth/login", LOGIN);
+
+        System.out.printf("| %-11s | %10s | %8s | %8s | %7s |%n", "concurrency", "req/s", "p50 ms", "p99 ms", "errors");
+        System.out.printf("|-------------|-----------:|---------:|---------:|--------:|%n");
+        for (int level : levels) {
+            // Warm up connections and JIT at this level before measuring
+            run(client, request, level, Duration.ofSeconds(3));
+            Result result = run(client, request, level, duration);
+            long[] sorted = Arrays.copyOf(result.latenciesNanos(), result.count());
+            Arrays.sort(sorted);
+            System.out.printf("| %11d | %10.1f | %8.1f | %8.1f | %6.1f%% |%n", level,
+                    result.count() / (double) duration.toSeconds(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    result.count() == 0 ? 0.0 : 100.0 * result.errors() / result.count());
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int clients, Duration duration)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(pool.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                int errors = 0;
+                start.await();
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = -1;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - begin;
+                    if (status != 200) {
+                        errors++;
+                    }
+                }
+                return new Result(latencies, count, errors);
+            }));
+        }
+        start.countDown();
+
+        long[] all = new long[0];
+        int count = 0;
+        int errors = 0;
+        for (Future<Result> future : futures) {
+            Result result = future.get();
+            all = Arrays.copyOf(all, count + result.count());
+            System.arraycopy(result.latenciesNanos(), 0, all, count, result.count());
+            count += result.count();
+            errors += result.errors();
+        }
+        pool.shutdown();
+        return new Result(all, count, errors);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,95 @@
+package com.tntgroup.testdatn.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.tntgroup.testdatn.utils.FormatUtils;
+
+/**
+ * Single-pass phone, card and slug formatters against the replaceAll
+ * versions they replaced, plus the append-to-builder overload used when
+ * rendering many fields into one buffer. Run through {@link #main} to get
+ * allocation per call ({@code gc.alloc.rate.norm}) next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    @Param({ "(091) 234-5678", "4111 1111 1111 1111" })
+    private String digits;
+
+    @Param({ "  Hello World -- Spring Boot 4 Release Notes!  ", "Crème Brûlée à la carte" })
+    private String title;
+
+    private final StringBuilder buffer = new StringBuilder(128);
+
+    @Benchmark
+    public String phoneRegex() {
+        String d = digits.replaceAll("\\D", "");
+        if (d.length() == 10 || d.length() == 11) {
+            return d.substring(0, 4) + "-" + d.substring(4, 7) + "-" + d.substring(7);
+        }
+        return d;
+    }
+
+    @Benchmark
+    public String phoneScan() {
+        return FormatUtils.formatPhoneNumber(digits);
+    }
+
+    @Benchmark
+    public String cardRegex() {
+        String d = digits.replaceAll("\\D", "");
+        return d.length() < 4 ? "****" : "**** **** **** " + d.substring(d.length() - 4);
+    }
+
+    @Benchmark
+    public String cardScan() {
+        return FormatUtils.maskCreditCard(digits);
+    }
+
+    @Benchmark
+    public String slugRegex() {
+        return title.toLowerCase()
+                .trim()
+                .replaceAll("[^a-z0-9\\s-]", "")
+                .replaceAll("\\s+", "-")
+                .replaceAll("-+", "-");
+    }
+
+    @Benchmark
+    public String slugScan() {
+        return FormatUtils.toSlug(title);
+    }
+
+    @Benchmark
+    public StringBuilder slugAppend() {
+        buffer.setLength(0);
+        return FormatUtils.toSlug(title, buffer);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
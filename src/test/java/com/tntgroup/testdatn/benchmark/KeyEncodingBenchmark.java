@@ -0,0 +1,83 @@
+package com.tntgroup.testdatn.benchmark;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.tntgroup.testdatn.utils.KeyGeneratorUtils;
+import com.tntgroup.testdatn.utils.SecureRandomPool;
+
+/**
+ * Bulk-byte alphabet encoding against the previous one-nextInt-per-character
+ * loop, single-threaded, for short and long keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyEncodingBenchmark {
+
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final String HEX_CHARS = "0123456789abcdef";
+
+    @Param({ "32", "64", "4096" })
+    private int length;
+
+    private SecureRandom random;
+
+    @Setup
+    public void setUp() throws Exception {
+        random = SecureRandom.getInstance(SecureRandomPool.DEFAULT_ALGORITHM);
+        KeyGeneratorUtils.useRandomPool(new SecureRandomPool(SecureRandomPool.DEFAULT_ALGORITHM, 1, 0));
+    }
+
+    @Benchmark
+    public String alphanumericPerChar() {
+        return perChar(ALPHANUMERIC);
+    }
+
+    @Benchmark
+    public String alphanumericBulk() {
+        return KeyGeneratorUtils.generateAlphanumericKey(length);
+    }
+
+    @Benchmark
+    public String hexPerChar() {
+        return perChar(HEX_CHARS);
+    }
+
+    @Benchmark
+    public String hexBulk() {
+        return KeyGeneratorUtils.generateHexKey(length);
+    }
+
+    private String perChar(String alphabet) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(KeyEncodingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.tntgroup.testdatn.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.tntgroup.testdatn.utils.KeyGeneratorUtils;
+import com.tntgroup.testdatn.utils.SecureRandomPool;
+
+/**
+ * Key generation throughput as threads are added. A pool of one generator
+ * stands in for the old single shared SecureRandom; with 0 (two per CPU)
+ * throughput should grow with the thread count up to the core count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyGenerationBenchmark {
+
+    @Param({ "1", "0" })
+    private int poolSize;
+
+    @Param({ "DRBG", "NativePRNGNonBlocking" })
+    private String algorithm;
+
+    @Setup
+    public void setUp() {
+        KeyGeneratorUtils.useRandomPool(new SecureRandomPool(algorithm, poolSize, 0));
+    }
+
+    @Benchmark
+    public String alphanumeric() {
+        return KeyGeneratorUtils.generateAlphanumericKey(32);
+    }
+
+    @Benchmark
+    public String sessionToken() {
+        return KeyGeneratorUtils.generateSessionToken();
+    }
+
+    /**
+     * Runs every benchmark at 1, 2, 4, ... threads up to the CPU count.
+     */
+    public static void main(String[] args) throws RunnerException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            new Runner(new OptionsBuilder()
+                    .include(KeyGenerationBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+            if (threads == cores) {
+                break;
+            }
+        }
+    }
+}
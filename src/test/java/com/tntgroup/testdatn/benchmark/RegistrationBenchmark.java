@@ -0,0 +1,105 @@
+package com.tntgroup.testdatn.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.tntgroup.testdatn.TestDatnApplication;
+import com.tntgroup.testdatn.dto.AuthResponse;
+import com.tntgroup.testdatn.dto.RegisterRequest;
+import com.tntgroup.testdatn.entity.User;
+import com.tntgroup.testdatn.repository.UserRepository;
+import com.tntgroup.testdatn.service.AuthService;
+import com.tntgroup.testdatn.service.PasswordHashingService;
+
+/**
+ * Signup throughput under concurrency: check-then-insert (three round-trips)
+ * against insert-and-rely-on-constraints. Runs the real application context
+ * on an embedded H2 database; BCrypt is calibrated down so the database path
+ * dominates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(16)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+    private UserRepository userRepository;
+    private PasswordHashingService passwordHashingService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContexts.start(TestDatnApplication.class,
+                "password.bcrypt.target-latency-ms=1",
+                "password.bcrypt.min-strength=4",
+                "password.hashing.queue-capacity=1024");
+        authService = context.getBean(AuthService.class);
+        userRepository = context.getBean(UserRepository.class);
+        passwordHashingService = context.getBean(PasswordHashingService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User checkThenInsert() {
+        // Previous register(): existsByUsername, existsByEmail, then save
+        RegisterRequest request = nextRequest();
+        if (userRepository.existsByUsername(request.getUsername())) {
+            throw new IllegalStateException("Username already exists");
+        }
+        if (userRepository.existsByEmail(request.getEmail())) {
+            throw new IllegalStateException("Email already exists");
+        }
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setEmail(request.getEmail());
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
+        return userRepository.save(user);
+    }
+
+    @Benchmark
+    public AuthResponse insertOnly() {
+        return authService.register(nextRequest());
+    }
+
+    private RegisterRequest nextRequest() {
+        long n = sequence.incrementAndGet();
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("bench" + n);
+        request.setEmail("bench" + n + "@example.com");
+        request.setPassword("Passw0rdX");
+        return request;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RegistrationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
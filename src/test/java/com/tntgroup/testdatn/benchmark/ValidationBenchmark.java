@@ -0,0 +1,73 @@
+package com.tntgroup.testdatn.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.tntgroup.testdatn.utils.ValidationUtils;
+
+/**
+ * Hand-written email and phone validators against the regex versions they
+ * replaced. Run through {@link #main} to get allocation per call
+ * ({@code gc.alloc.rate.norm}) next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile(
+            "^0[3-9][0-9]{8,9}$");
+
+    @Param({ "john.doe+news@mail.example.com", "  padded@example.org  ", "no-at-sign.example.com" })
+    private String email;
+
+    @Param({ "0912345678", " 0912345678 " })
+    private String phone;
+
+    @Benchmark
+    public boolean emailRegex() {
+        return !email.isBlank() && EMAIL_PATTERN.matcher(email.trim()).matches();
+    }
+
+    @Benchmark
+    public boolean emailScan() {
+        return ValidationUtils.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean phoneRegex() {
+        return !phone.isBlank() && PHONE_PATTERN.matcher(phone.trim()).matches();
+    }
+
+    @Benchmark
+    public boolean phoneScan() {
+        return ValidationUtils.isValidPhoneNumber(phone);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ValidationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}